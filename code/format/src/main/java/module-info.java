@@ -7,4 +7,6 @@
  */
 module uk.autores.format {
     exports uk.autores.format;
+
+    uses uk.autores.format.CustomFmtType;
 }
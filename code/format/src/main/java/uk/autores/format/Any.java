@@ -2,21 +2,105 @@ package uk.autores.format;
 
 import java.text.DateFormat;
 import java.text.FieldPosition;
+import java.text.Format;
 import java.util.Date;
 import java.util.Locale;
 
 final class Any {
+    static final Object MEGAMORPHIC = new Object();
+
     private Any() {}
 
     static void format(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
         Object arg = args[v.index()];
-        if (arg instanceof Number) {
-            Numbers.format(l, v, buf, args);
-        } else if (arg instanceof Date d) {
-            DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, l)
-                    .format(d, buf, new FieldPosition(0));
+        if (arg == null) {
+            buf.append((Object) null);
+            return;
+        }
+        // inline cache: unset -> one argument class -> megamorphic
+        Class<?> type = arg.getClass();
+        Object site = v.site();
+        Writer writer;
+        if (site instanceof Site s && s.type == type) {
+            writer = s.writer;
         } else {
-            buf.append(arg);
+            writer = writer(type);
+            if (site != MEGAMORPHIC) {
+                v.site(site == null ? new Site(type, writer) : MEGAMORPHIC);
+            }
+        }
+        writer.write(l, v, buf, arg);
+    }
+
+    private static Writer writer(Class<?> type) {
+        if (type == String.class) {
+            return Writer.STRING;
+        } else if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            return Writer.INTEGRAL;
+        } else if (Number.class.isAssignableFrom(type)) {
+            return Writer.NUMBER;
+        } else if (Date.class.isAssignableFrom(type)) {
+            return Writer.DATE;
+        } else if (CharSequence.class.isAssignableFrom(type)) {
+            return Writer.CHARS;
+        }
+        return Writer.OBJECT;
+    }
+
+    private static void date(Locale l, FormatVariable v, StringBuffer buf, Date d) {
+        DateFormat prototype = FormatterCache.get(DateFormat.class, l, v, Any::dateFormat);
+        Format df = Pool.borrow(prototype);
+        try {
+            df.format(d, buf, new FieldPosition(0));
+        } finally {
+            Pool.release(prototype, df);
         }
     }
+
+    private static DateFormat dateFormat(Locale l, FormatVariable v) {
+        return DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, l);
+    }
+
+    private record Site(Class<?> type, Writer writer) {}
+
+    private enum Writer {
+        STRING {
+            @Override
+            void write(Locale l, FormatVariable v, StringBuffer buf, Object arg) {
+                buf.append((String) arg);
+            }
+        },
+        CHARS {
+            @Override
+            void write(Locale l, FormatVariable v, StringBuffer buf, Object arg) {
+                buf.append((CharSequence) arg);
+            }
+        },
+        INTEGRAL {
+            @Override
+            void write(Locale l, FormatVariable v, StringBuffer buf, Object arg) {
+                Numbers.integral(l, v, buf, (Number) arg);
+            }
+        },
+        NUMBER {
+            @Override
+            void write(Locale l, FormatVariable v, StringBuffer buf, Object arg) {
+                Numbers.pooled(l, v, buf, arg);
+            }
+        },
+        DATE {
+            @Override
+            void write(Locale l, FormatVariable v, StringBuffer buf, Object arg) {
+                date(l, v, buf, (Date) arg);
+            }
+        },
+        OBJECT {
+            @Override
+            void write(Locale l, FormatVariable v, StringBuffer buf, Object arg) {
+                buf.append(arg);
+            }
+        };
+
+        abstract void write(Locale l, FormatVariable v, StringBuffer buf, Object arg);
+    }
 }
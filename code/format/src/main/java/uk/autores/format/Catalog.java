@@ -0,0 +1,180 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.util.*;
+import java.util.function.BiPredicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ *     Immutable, keyed collection of {@link FormatExpression}s for a single locale.
+ * </p>
+ * <p>
+ *     Instances can be safely published via a <code>volatile</code> field or
+ *     {@link java.util.concurrent.atomic.AtomicReference} so that readers never block
+ *     while a reloaded catalog is being prepared.
+ *     {@link #revise(Map)} reparses only the patterns that changed.
+ * </p>
+ * <pre><code>
+ *   // on file change
+ *   Catalog previous = current.get();
+ *   Catalog next = previous.revise(loadPatterns());
+ *   var problems = reference.incompatibilities(next, next.changes(previous));
+ *   if (problems.isEmpty()) {
+ *       current.set(next);
+ *   }
+ * </code></pre>
+ * <p>
+ *     Discovering and reading message files is left to the caller.
+ * </p>
+ *
+ * @since 17.4.0
+ */
+public final class Catalog {
+    private final Map<String, FormatExpression> expressions;
+    private final BiPredicate<FormatVariable, FormatVariable> compatibility;
+
+    private Catalog(Map<String, FormatExpression> expressions,
+                    BiPredicate<FormatVariable, FormatVariable> compatibility) {
+        this.expressions = expressions;
+        this.compatibility = compatibility;
+    }
+
+    /**
+     * Parses patterns using {@link FormatExpression#parse(CharSequence)}.
+     *
+     * @param patterns source text by key
+     * @return parsed catalog
+     * @throws IllegalArgumentException on malformed expressions
+     */
+    public static Catalog parse(Map<String, ? extends CharSequence> patterns) {
+        return parse(patterns, FormatExpression.DEFAULT_MATCHER);
+    }
+
+    /**
+     * Parses patterns using {@link FormatExpression#parse(CharSequence, BiPredicate)}.
+     *
+     * @param patterns source text by key
+     * @param compatibility compatibility check
+     * @return parsed catalog
+     * @throws IllegalArgumentException on malformed expressions
+     */
+    public static Catalog parse(Map<String, ? extends CharSequence> patterns,
+                                BiPredicate<FormatVariable, FormatVariable> compatibility) {
+        requireNonNull(compatibility, "BiPredicate cannot be null");
+        return new Catalog(Map.of(), compatibility).revise(patterns);
+    }
+
+    /**
+     * <p>
+     *     Creates a new catalog from a complete set of patterns.
+     *     Expressions whose patterns are unchanged are reused rather than reparsed.
+     *     Keys absent from the argument are absent from the result.
+     * </p>
+     *
+     * @param patterns source text by key
+     * @return new catalog
+     * @throws IllegalArgumentException on malformed expressions
+     */
+    public Catalog revise(Map<String, ? extends CharSequence> patterns) {
+        requireNonNull(patterns, "Map cannot be null");
+
+        var revised = new HashMap<String, FormatExpression>(patterns.size() * 2);
+        for (var entry : patterns.entrySet()) {
+            String key = requireNonNull(entry.getKey(), "Key cannot be null");
+            CharSequence pattern = requireNonNull(entry.getValue(), "Pattern cannot be null");
+            FormatExpression existing = expressions.get(key);
+            if (existing == null || !existing.toString().contentEquals(pattern)) {
+                existing = parse(key, pattern);
+            }
+            revised.put(key, existing);
+        }
+        return new Catalog(Collections.unmodifiableMap(revised), compatibility);
+    }
+
+    private FormatExpression parse(String key, CharSequence pattern) {
+        try {
+            return FormatExpression.parse(pattern, compatibility);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Expression lookup.
+     *
+     * @param key the message key
+     * @return the expression or null if absent
+     */
+    public FormatExpression get(String key) {
+        return expressions.get(key);
+    }
+
+    /**
+     * Message keys.
+     *
+     * @return immutable set
+     */
+    public Set<String> keys() {
+        return expressions.keySet();
+    }
+
+    /**
+     * Keys added, removed or reparsed relative to a catalog this was {@link #revise(Map)}d from.
+     *
+     * @param previous the earlier catalog
+     * @return changed keys
+     */
+    public Set<String> changes(Catalog previous) {
+        Set<String> results = new HashSet<>();
+        for (var entry : expressions.entrySet()) {
+            if (previous.expressions.get(entry.getKey()) != entry.getValue()) {
+                results.add(entry.getKey());
+            }
+        }
+        for (String key : previous.keys()) {
+            if (!expressions.containsKey(key)) {
+                results.add(key);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Tests all keys present in both catalogs using this catalog's compatibility check.
+     *
+     * @param translation possible source of incompatibilities
+     * @return incompatibilities by key; empty if compatible
+     * @see FormatExpression#incompatibilities(FormatExpression, BiPredicate)
+     */
+    public Map<String, Set<FormatExpression.Incompatibility>> incompatibilities(Catalog translation) {
+        return incompatibilities(translation, translation.keys());
+    }
+
+    /**
+     * Tests the given keys where present in both catalogs using this catalog's compatibility check.
+     * Use with {@link #changes(Catalog)} to check only reparsed expressions.
+     *
+     * @param translation possible source of incompatibilities
+     * @param keys the keys to check
+     * @return incompatibilities by key; empty if compatible
+     * @see FormatExpression#incompatibilities(FormatExpression, BiPredicate)
+     */
+    public Map<String, Set<FormatExpression.Incompatibility>> incompatibilities(Catalog translation, Set<String> keys) {
+        Map<String, Set<FormatExpression.Incompatibility>> results = new HashMap<>();
+        for (String key : keys) {
+            FormatExpression ref = get(key);
+            FormatExpression candidate = translation.get(key);
+            if (ref == null || candidate == null) {
+                continue;
+            }
+            var problems = ref.incompatibilities(candidate, compatibility);
+            if (!problems.isEmpty()) {
+                results.put(key, problems);
+            }
+        }
+        return results;
+    }
+}
@@ -15,6 +15,14 @@ final class Chars {
         return new String(buffer);
     }
 
+    static String lower(CharSequence seq, int start, int end) {
+        var buffer = new char[end - start];
+        for (int i = start; i < end; i++) {
+            buffer[i - start] = Character.toLowerCase(seq.charAt(i));
+        }
+        return new String(buffer);
+    }
+
     private static int concat(char[] buffer, int offset, Object o) {
         var s = o.toString();
         int len = s.length();
@@ -4,16 +4,13 @@ package uk.autores.format;
 
 import java.text.ChoiceFormat;
 import java.util.Locale;
+import java.util.function.UnaryOperator;
 
 final class Choices {
     private Choices() {}
 
     static void format(Locale l, FormatVariable variable, StringBuffer buf, Object... args) {
-        Object value = args[variable.index()];
-        variable.requireNonNull(value);
-
-        ChoiceFormat format = new ChoiceFormat(variable.subformat());
-        String choice = format.format(value);
+        String choice = select(variable, args[variable.index()]);
         if (choice.indexOf('{') >= 0) {
             FormatExpression recursive = FormatExpression.parse(choice);
             recursive.formatTo(l, buf, args);
@@ -21,4 +18,139 @@ final class Choices {
             buf.append(choice);
         }
     }
+
+    static String choose(FormatVariable variable, Object value) {
+        variable.check(value);
+        return select(variable, value);
+    }
+
+    private static String select(FormatVariable variable, Object value) {
+        ChoiceFormat format = new ChoiceFormat(variable.subformat());
+        return format.format(value);
+    }
+
+    /**
+     * <p>
+     *     Rewrites the top-level variables in each branch of a choice pattern.
+     * </p>
+     * <p>
+     *     {@link ChoiceFormat} removes one level of quotes so <code>'{0}'</code> is a variable in its branch;
+     *     only doubled quotes reach the branch pattern.
+     *     Replacements are quoted so their text reaches the branch unchanged.
+     * </p>
+     *
+     * @param pattern  the choice sub-format
+     * @param variable maps the pattern of each variable to its replacement
+     * @return the rewritten pattern; the same instance if nothing was replaced
+     */
+    static String rewrite(String pattern, UnaryOperator<String> variable) {
+        int len = pattern.length();
+        // branch text with the source range & choice quoting of each char
+        var branch = new StringBuilder();
+        int[] from = new int[len];
+        int[] to = new int[len];
+        boolean[] quoted = new boolean[len];
+        var out = new StringBuilder(len);
+        int copied = 0;
+        boolean quote = false;
+        boolean limit = true;
+        for (int i = 0; i <= len; i++) {
+            char ch = i == len ? '|' : pattern.charAt(i);
+            int width = 1;
+            if (ch == '\'') {
+                if (i + 1 == len || pattern.charAt(i + 1) != '\'') {
+                    quote = !quote;
+                    continue;
+                }
+                width = 2;
+            } else if (ch == '|' && (!quote || i == len)) {
+                copied = rewrite(pattern, branch, from, to, quoted, variable, out, copied);
+                branch.setLength(0);
+                limit = true;
+                continue;
+            } else if (limit) {
+                limit = quote || (ch != '#' && ch != '<' && ch != '\u2264');
+                continue;
+            }
+            if (!limit) {
+                int n = branch.length();
+                from[n] = i;
+                to[n] = i + width;
+                quoted[n] = quote;
+                branch.append(ch);
+            }
+            i += width - 1;
+        }
+        if (copied == 0) {
+            return pattern;
+        }
+        return out.append(pattern, copied, len).toString();
+    }
+
+    private static int rewrite(String pattern, StringBuilder branch, int[] from, int[] to, boolean[] quoted,
+                               UnaryOperator<String> variable, StringBuilder out, int copied) {
+        boolean quote = false;
+        for (int k = 0; k < branch.length(); k++) {
+            char ch = branch.charAt(k);
+            if (ch == '\'') {
+                if (k + 1 < branch.length() && branch.charAt(k + 1) == '\'') {
+                    k++;
+                } else {
+                    quote = !quote;
+                }
+            } else if (ch == '{' && !quote) {
+                int end = close(branch, k + 1);
+                if (end < 0) {
+                    break;
+                }
+                String text = branch.substring(k, end + 1);
+                String replacement = variable.apply(text);
+                if (!replacement.equals(text)) {
+                    out.append(pattern, copied, from[k]);
+                    quote(replacement, quoted[k], quoted[end], out);
+                    copied = to[end];
+                }
+                k = end;
+            }
+        }
+        return copied;
+    }
+
+    private static void quote(String replacement, boolean quotedBefore, boolean quotedAfter, StringBuilder out) {
+        boolean plain = true;
+        for (int i = 0; plain && i < replacement.length(); i++) {
+            plain = "'|#<\u2264".indexOf(replacement.charAt(i)) < 0;
+        }
+        if (plain && quotedBefore == quotedAfter) {
+            out.append(replacement);
+            return;
+        }
+        // within quotes the choice level passes braces & separators through and doubled quotes become quotes
+        if (!quotedBefore) {
+            out.append('\'');
+        }
+        out.append(replacement.replace("'", "''"));
+        if (!quotedAfter) {
+            out.append('\'');
+        }
+    }
+
+    private static int close(CharSequence branch, int offset) {
+        int nested = 0;
+        boolean quote = false;
+        for (int i = offset; i < branch.length(); i++) {
+            char ch = branch.charAt(i);
+            if (ch == '\'') {
+                quote = !quote;
+            } else if (!quote && ch == '{') {
+                nested++;
+            } else if (!quote && ch == '}') {
+                if (nested == 0) {
+                    return i;
+                }
+                nested--;
+            }
+        }
+        return -1;
+    }
 }
@@ -0,0 +1,324 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ *     Identifies which of many expressions could have produced a line of text.
+ * </p>
+ * <p>
+ *     The longest literal segment of each expression is indexed in an Aho-Corasick automaton
+ *     so one pass over a line finds every expression whose key literal it contains.
+ *     Each candidate is then verified with its {@link FormatMatcher}.
+ *     Expressions without literals are verified against every line.
+ *     Expressions with adjacent variables cannot be matched and are {@link #excluded()}.
+ * </p>
+ * <pre><code>
+ *   Classifier&lt;String&gt; classifier = Classifier.of(catalog);
+ *   List&lt;List&lt;String&gt;&gt; keys = classifier.classifyAll(lines);
+ * </code></pre>
+ * <p>
+ *     Instances are immutable &amp; thread safe.
+ * </p>
+ *
+ * @param <K> key type
+ * @since 17.4.0
+ */
+public final class Classifier<K> {
+    private static final int ROOT = 0;
+
+    private final List<K> keys;
+    private final FormatMatcher[] matchers;
+    private final Set<K> excluded;
+    // templates with no literal text
+    private final int[] wildcards;
+    // automaton in compressed sparse row form; edges per state sorted by char
+    private final int[] edgeStart;
+    private final char[] edgeChar;
+    private final int[] edgeTarget;
+    private final int[] fail;
+    private final int[] dictionary;
+    private final int[][] output;
+
+    private Classifier(List<K> keys, FormatMatcher[] matchers, Set<K> excluded, int[] wildcards, Automaton a) {
+        this.keys = keys;
+        this.matchers = matchers;
+        this.excluded = excluded;
+        this.wildcards = wildcards;
+        this.edgeStart = a.edgeStart;
+        this.edgeChar = a.edgeChar;
+        this.edgeTarget = a.edgeTarget;
+        this.fail = a.fail;
+        this.dictionary = a.dictionary;
+        this.output = a.output;
+    }
+
+    /**
+     * Indexes every expression in the catalog.
+     *
+     * @param catalog the expressions
+     * @return new instance
+     */
+    public static Classifier<String> of(Catalog catalog) {
+        requireNonNull(catalog, "Catalog cannot be null");
+        Map<String, FormatExpression> expressions = new TreeMap<>();
+        for (String key : catalog.keys()) {
+            expressions.put(key, catalog.get(key));
+        }
+        return of(expressions);
+    }
+
+    /**
+     * Indexes the expressions.
+     * Results are reported in the iteration order of the map.
+     *
+     * @param expressions expressions by key
+     * @param <K> key type
+     * @return new instance
+     */
+    public static <K> Classifier<K> of(Map<K, FormatExpression> expressions) {
+        requireNonNull(expressions, "Map cannot be null");
+        List<K> keys = new ArrayList<>(expressions.size());
+        List<FormatMatcher> matchers = new ArrayList<>(expressions.size());
+        Set<K> excluded = new LinkedHashSet<>();
+        List<Integer> wildcards = new ArrayList<>();
+        var builder = new Automaton();
+        for (var entry : expressions.entrySet()) {
+            FormatExpression expr = requireNonNull(entry.getValue(), "FormatExpression cannot be null");
+            FormatMatcher matcher;
+            try {
+                matcher = expr.matcher();
+            } catch (IllegalArgumentException e) {
+                excluded.add(entry.getKey());
+                continue;
+            }
+            int id = keys.size();
+            keys.add(entry.getKey());
+            matchers.add(matcher);
+            String fragment = longestLiteral(expr);
+            if (fragment.isEmpty()) {
+                wildcards.add(id);
+            } else {
+                builder.add(fragment, id);
+            }
+        }
+        builder.compile();
+        int[] wild = wildcards.stream().mapToInt(Integer::intValue).toArray();
+        return new Classifier<>(List.copyOf(keys), matchers.toArray(new FormatMatcher[0]),
+                Collections.unmodifiableSet(excluded), wild, builder);
+    }
+
+    private static String longestLiteral(FormatExpression expr) {
+        String longest = "";
+        for (Formatter f : expr) {
+            if (f instanceof FormatLiteral literal && literal.processed().length() > longest.length()) {
+                longest = literal.processed();
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Keys of expressions that cannot be matched because they contain adjacent variables.
+     *
+     * @return immutable set
+     */
+    public Set<K> excluded() {
+        return excluded;
+    }
+
+    /**
+     * Finds the expressions that match the line.
+     *
+     * @param line the text
+     * @return matching keys in index order; empty if none match
+     */
+    public List<K> classify(CharSequence line) {
+        requireNonNull(line, "CharSequence cannot be null");
+        int[] candidates = candidates(line);
+        List<K> results = new ArrayList<>(2);
+        for (int id : candidates) {
+            if (matchers[id].matches(line)) {
+                results.add(keys.get(id));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Classifies the lines in parallel using the common fork-join pool.
+     *
+     * @param lines the text
+     * @return results in the same order as the lines
+     * @see #classify(CharSequence)
+     */
+    public List<List<K>> classifyAll(List<? extends CharSequence> lines) {
+        requireNonNull(lines, "List cannot be null");
+        return IntStream.range(0, lines.size())
+                .parallel()
+                .mapToObj(i -> classify(lines.get(i)))
+                .toList();
+    }
+
+    private int[] candidates(CharSequence line) {
+        int[] found = Arrays.copyOf(wildcards, wildcards.length + 4);
+        int count = wildcards.length;
+        int state = ROOT;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            int next = next(state, ch);
+            while (next < 0 && state != ROOT) {
+                state = fail[state];
+                next = next(state, ch);
+            }
+            state = next < 0 ? ROOT : next;
+            for (int o = output[state] == null ? dictionary[state] : state; o != ROOT; o = dictionary[o]) {
+                for (int id : output[o]) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count * 2);
+                    }
+                    found[count++] = id;
+                }
+            }
+        }
+        found = Arrays.copyOf(found, count);
+        Arrays.sort(found);
+        return distinct(found);
+    }
+
+    private static int[] distinct(int[] sorted) {
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    private int next(int state, char ch) {
+        int i = Arrays.binarySearch(edgeChar, edgeStart[state], edgeStart[state + 1], ch);
+        return i < 0 ? -1 : edgeTarget[i];
+    }
+
+    /**
+     * Approximate heap used by the automaton and its indices, excluding keys and expressions.
+     *
+     * @return bytes
+     */
+    public long footprint() {
+        long bytes = 16L * 6;
+        bytes += 4L * (edgeStart.length + edgeTarget.length + fail.length + dictionary.length + wildcards.length);
+        bytes += 2L * edgeChar.length;
+        bytes += 8L * output.length;
+        for (int[] ids : output) {
+            if (ids != null) {
+                bytes += 16 + 4L * ids.length;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * The number of automaton states; one more than the total length of the distinct indexed literals at most.
+     *
+     * @return state count
+     */
+    public int states() {
+        return fail.length;
+    }
+
+    private static final class Automaton {
+        private final List<Map<Character, Integer>> edges = new ArrayList<>();
+        private final List<List<Integer>> ids = new ArrayList<>();
+        private int[] edgeStart;
+        private char[] edgeChar;
+        private int[] edgeTarget;
+        private int[] fail;
+        private int[] dictionary;
+        private int[][] output;
+
+        private Automaton() {
+            newState();
+        }
+
+        private int newState() {
+            edges.add(new TreeMap<>());
+            ids.add(null);
+            return edges.size() - 1;
+        }
+
+        void add(String fragment, int id) {
+            int state = ROOT;
+            for (int i = 0; i < fragment.length(); i++) {
+                Integer next = edges.get(state).get(fragment.charAt(i));
+                if (next == null) {
+                    next = newState();
+                    edges.get(state).put(fragment.charAt(i), next);
+                }
+                state = next;
+            }
+            if (ids.get(state) == null) {
+                ids.set(state, new ArrayList<>(1));
+            }
+            ids.get(state).add(id);
+        }
+
+        void compile() {
+            int states = edges.size();
+            edgeStart = new int[states + 1];
+            int total = 0;
+            for (int s = 0; s < states; s++) {
+                edgeStart[s] = total;
+                total += edges.get(s).size();
+            }
+            edgeStart[states] = total;
+            edgeChar = new char[total];
+            edgeTarget = new int[total];
+            output = new int[states][];
+            for (int s = 0; s < states; s++) {
+                int e = edgeStart[s];
+                for (var edge : edges.get(s).entrySet()) {
+                    edgeChar[e] = edge.getKey();
+                    edgeTarget[e++] = edge.getValue();
+                }
+                List<Integer> list = ids.get(s);
+                if (list != null) {
+                    output[s] = list.stream().mapToInt(Integer::intValue).toArray();
+                }
+            }
+            links(states);
+        }
+
+        private void links(int states) {
+            fail = new int[states];
+            dictionary = new int[states];
+            Deque<Integer> queue = new ArrayDeque<>();
+            queue.add(ROOT);
+            while (!queue.isEmpty()) {
+                int parent = queue.poll();
+                for (var edge : edges.get(parent).entrySet()) {
+                    int child = edge.getValue();
+                    int f = ROOT;
+                    if (parent != ROOT) {
+                        f = fail[parent];
+                        Integer target = edges.get(f).get(edge.getKey());
+                        while (target == null && f != ROOT) {
+                            f = fail[f];
+                            target = edges.get(f).get(edge.getKey());
+                        }
+                        f = target == null ? ROOT : target;
+                    }
+                    fail[child] = f;
+                    dictionary[child] = output[f] != null ? f : dictionary[f];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.util.Locale;
+
+/**
+ * <p>
+ *     Service provider interface for format types beyond those in {@link FmtType}.
+ * </p>
+ * <p>
+ *     Implementations are discovered with {@link java.util.ServiceLoader}
+ *     the first time an expression is parsed.
+ *     Declare them with <code>provides uk.autores.format.CustomFmtType with ...</code> in a module descriptor
+ *     or in <code>META-INF/services/uk.autores.format.CustomFmtType</code> on the class path.
+ * </p>
+ * <p>
+ *     Given a provider with the label "bytes" the expression <code>{0,bytes}</code> parses to
+ *     a {@link FormatVariable} of type {@link FmtType#CUSTOM}.
+ *     Anything after a second comma is passed as the {@link FormatVariable#subformat()};
+ *     as in <code>{0,money,EUR}</code>.
+ *     Labels are matched ignoring case.
+ *     Built-in labels take precedence and are never passed to providers.
+ * </p>
+ * <p>
+ *     Implementations must be thread safe.
+ * </p>
+ *
+ * @since 17.4.0
+ */
+public interface CustomFmtType {
+
+    /**
+     * The type string used in expressions.
+     * Must be non-empty and contain no whitespace or <code>,{}'</code> characters.
+     *
+     * @return label
+     */
+    String label();
+
+    /**
+     * The type of argument this format supports.
+     *
+     * @return Object by default
+     * @see FmtType#argType()
+     */
+    default Class<?> argType() {
+        return Object.class;
+    }
+
+    /**
+     * Used for testing and string size estimation.
+     *
+     * @return non-null instance of {@link #argType()}
+     * @see FormatExpression#argExamples()
+     */
+    Object example();
+
+    /**
+     * Checks the sub-format pattern when the expression is parsed.
+     * Does nothing by default.
+     *
+     * @param subformat pattern or empty string
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    default void validate(String subformat) {
+        // all patterns valid
+    }
+
+    /**
+     * Formats the argument and appends it to the buffer.
+     *
+     * @param l        the locale
+     * @param variable the variable being formatted
+     * @param buf      the target buffer
+     * @param arg      the non-null argument at {@link FormatVariable#index()}
+     */
+    void formatTo(Locale l, FormatVariable variable, StringBuffer buf, Object arg);
+}
@@ -0,0 +1,60 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/*
+ * Registry of CustomFmtType providers keyed on lower case label.
+ */
+final class Customs {
+    private static final String ILLEGAL = ",{}'";
+    private static volatile Map<String, CustomFmtType> installed;
+
+    private Customs() {}
+
+    static Map<String, CustomFmtType> installed() {
+        Map<String, CustomFmtType> types = installed;
+        if (types == null) {
+            types = index(ServiceLoader.load(CustomFmtType.class));
+            installed = types;
+        }
+        return types;
+    }
+
+    static Map<String, CustomFmtType> index(Iterable<? extends CustomFmtType> types) {
+        Map<String, CustomFmtType> index = new HashMap<>();
+        for (CustomFmtType type : types) {
+            String label = type.label();
+            if (!isValid(label)) {
+                throw new IllegalArgumentException("Invalid label \"" + label + "\" from " + type.getClass().getName());
+            }
+            var existing = index.putIfAbsent(Chars.lower(label, 0, label.length()), type);
+            if (existing != null) {
+                throw new IllegalArgumentException("Duplicate label \"" + label + "\" from "
+                        + type.getClass().getName() + " and " + existing.getClass().getName());
+            }
+        }
+        return Map.copyOf(index);
+    }
+
+    private static boolean isValid(String label) {
+        if (label == null || label.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < label.length(); i++) {
+            char ch = label.charAt(i);
+            if (Character.isWhitespace(ch) || ILLEGAL.indexOf(ch) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void format(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
+        v.custom().orElseThrow().formatTo(l, v, buf, args[v.index()]);
+    }
+}
@@ -1,5 +1,6 @@
 package uk.autores.format;
 
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Date;
@@ -9,26 +10,27 @@ final class Dates {
     private Dates() {}
 
     static void date(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        Temporals.date(l, v, buf, handleLegacy(v, args));
+        Temporals.dateOf(l, v, buf, handleLegacy(args[v.index()]));
     }
 
     static void time(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        Temporals.time(l, v, buf, handleLegacy(v, args));
+        Temporals.timeOf(l, v, buf, handleLegacy(args[v.index()]));
     }
 
-    private static Object[] handleLegacy(FormatVariable v, Object... args) {
-        Object[] result = args;
-        FmtType type = v.type();
-        if (type == FmtType.DATE || type == FmtType.TIME) {
-            Object value = args[v.index()];
-            if (value instanceof Date d) {
-                var zid = ZoneId.systemDefault();
-                var zdt = ZonedDateTime.ofInstant(d.toInstant(), zid);
+    static Object handleLegacy(Object value) {
+        if (value instanceof Date d) {
+            return ZonedDateTime.ofInstant(toInstant(d), ZoneId.systemDefault());
+        }
+        return value;
+    }
 
-                result = args.clone();
-                result[v.index()] = zdt;
-            }
+    private static Instant toInstant(Date d) {
+        try {
+            // java.sql.Timestamp retains nanoseconds
+            return d.toInstant();
+        } catch (UnsupportedOperationException e) {
+            // java.sql.Date & java.sql.Time
+            return Instant.ofEpochMilli(d.getTime());
         }
-        return result;
     }
 }
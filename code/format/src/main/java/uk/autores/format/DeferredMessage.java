@@ -0,0 +1,139 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.util.Date;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ *     A message that is formatted on first use.
+ * </p>
+ * <p>
+ *     Intended for logging where messages below the threshold are never read.
+ *     Pass instances to {@link System.Logger#log(System.Logger.Level, Supplier)},
+ *     <code>java.util.logging.Logger.log(Level, Supplier)</code>
+ *     or to any API that calls {@link #toString()} lazily.
+ * </p>
+ * <pre><code>
+ *   logger.log(Level.FINE, expr.defer(Locale.ROOT, user, elapsed));
+ * </code></pre>
+ * <p>
+ *     The argument array is referenced, not copied.
+ *     Use {@link #snapshot()} if arguments may change before the message is read.
+ * </p>
+ * <p>
+ *     Instances are thread safe if the arguments are not modified.
+ *     Concurrent first callers may each format the message but will observe equal strings.
+ * </p>
+ *
+ * @see FormatExpression#defer(Locale, Object...)
+ * @since 17.4.0
+ */
+public final class DeferredMessage implements Supplier<String> {
+    private final Formatter formatter;
+    private final Locale locale;
+    private final Object[] args;
+    private volatile String text;
+
+    private DeferredMessage(Formatter formatter, Locale locale, Object[] args) {
+        this.formatter = formatter;
+        this.locale = locale;
+        this.args = args;
+    }
+
+    /**
+     * Defers formatting.
+     *
+     * @param formatter the expression
+     * @param l         the locale
+     * @param args      array of arguments containing elements for any indices evaluated
+     * @return unformatted message
+     */
+    public static DeferredMessage of(Formatter formatter, Locale l, Object... args) {
+        requireNonNull(formatter, "Formatter cannot be null");
+        requireNonNull(l, "Locale cannot be null");
+        requireNonNull(args, "Object array cannot be null");
+        return new DeferredMessage(formatter, l, args);
+    }
+
+    /**
+     * <p>
+     *     Copies the arguments so that later changes do not affect the message.
+     * </p>
+     * <p>
+     *     The argument array is copied, as are {@link Date} and {@link Object} array elements.
+     *     Other mutable arguments are shared.
+     *     Returns this instance if the message has already been formatted.
+     * </p>
+     *
+     * @return a message independent of the original argument array
+     */
+    public DeferredMessage snapshot() {
+        if (text != null) {
+            return this;
+        }
+        Object[] copy = args.clone();
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] instanceof Date d) {
+                copy[i] = d.clone();
+            } else if (copy[i] instanceof Object[] arr) {
+                copy[i] = arr.clone();
+            }
+        }
+        return new DeferredMessage(formatter, locale, copy);
+    }
+
+    /**
+     * Tests if the message has been formatted.
+     *
+     * @return true if the text is cached
+     */
+    public boolean isFormatted() {
+        return text != null;
+    }
+
+    /**
+     * Formats the message on first call.
+     *
+     * @return the formatted message
+     */
+    @Override
+    public String get() {
+        String s = text;
+        if (s == null) {
+            s = formatter.format(locale, args);
+            text = s;
+        }
+        return s;
+    }
+
+    /**
+     * Appends the message to the buffer.
+     * If the message has not been formatted it is formatted directly to the buffer and not cached.
+     *
+     * @param buf the target buffer
+     */
+    public void formatTo(StringBuffer buf) {
+        requireNonNull(buf, "StringBuffer cannot be null");
+        String s = text;
+        if (s == null) {
+            formatter.formatTo(locale, buf, args);
+        } else {
+            buf.append(s);
+        }
+    }
+
+    /**
+     * As {@link #get()}.
+     *
+     * @return the formatted message
+     */
+    @Override
+    public String toString() {
+        return get();
+    }
+}
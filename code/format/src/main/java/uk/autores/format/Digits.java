@@ -0,0 +1,112 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+
+/*
+ * Writes integral values without NumberFormat where the locale's pattern is a plain grouped integer.
+ * Output is checked against the JDK on creation; any difference disables the fast path.
+ */
+final class Digits {
+    private static final Digits UNSUPPORTED = new Digits("", "", "", "", '0', ',', 0, false);
+    private static final long[] SAMPLES = {
+            0, 1, -1, 9, -10, 999, 1000, -1000, 12345, 123456, -1234567, 10_000_000,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE,
+    };
+
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+    private final char zero;
+    private final char separator;
+    private final int groupingSize;
+    private final boolean supported;
+
+    private Digits(String positivePrefix, String positiveSuffix,
+                   String negativePrefix, String negativeSuffix,
+                   char zero, char separator, int groupingSize,
+                   boolean supported) {
+        this.positivePrefix = positivePrefix;
+        this.positiveSuffix = positiveSuffix;
+        this.negativePrefix = negativePrefix;
+        this.negativeSuffix = negativeSuffix;
+        this.zero = zero;
+        this.separator = separator;
+        this.groupingSize = groupingSize;
+        this.supported = supported;
+    }
+
+    static Digits of(NumberFormat nf) {
+        if (nf.getClass() != DecimalFormat.class) {
+            return UNSUPPORTED;
+        }
+        var df = (DecimalFormat) nf.clone();
+        if (df.getMultiplier() != 1
+                || df.getMinimumIntegerDigits() != 1
+                || df.getMaximumIntegerDigits() < 19
+                || df.getMinimumFractionDigits() != 0
+                || df.isDecimalSeparatorAlwaysShown()) {
+            return UNSUPPORTED;
+        }
+        var symbols = df.getDecimalFormatSymbols();
+        int grouping = df.isGroupingUsed() ? df.getGroupingSize() : 0;
+        var digits = new Digits(df.getPositivePrefix(), df.getPositiveSuffix(),
+                df.getNegativePrefix(), df.getNegativeSuffix(),
+                symbols.getZeroDigit(), symbols.getGroupingSeparator(), grouping,
+                true);
+        return digits.matches(df) ? digits : UNSUPPORTED;
+    }
+
+    private boolean matches(DecimalFormat df) {
+        var expected = new StringBuffer();
+        var actual = new StringBuffer();
+        for (long n : SAMPLES) {
+            expected.setLength(0);
+            actual.setLength(0);
+            df.format(n, expected, new FieldPosition(0));
+            format(n, actual);
+            if (!expected.toString().contentEquals(actual)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean supported() {
+        return supported;
+    }
+
+    void format(long n, StringBuffer buf) {
+        buf.append(n < 0 ? negativePrefix : positivePrefix);
+        // work in negatives so Long.MIN_VALUE needs no special case
+        long remaining = n < 0 ? n : -n;
+        int digits = digitCount(remaining);
+        int separators = groupingSize > 0 ? (digits - 1) / groupingSize : 0;
+        int offset = buf.length() + digits + separators;
+        // digits are written right to left into the space reserved in the buffer
+        buf.setLength(offset);
+        int count = 0;
+        do {
+            if (groupingSize > 0 && count > 0 && count % groupingSize == 0) {
+                buf.setCharAt(--offset, separator);
+            }
+            int digit = (int) -(remaining % 10);
+            buf.setCharAt(--offset, (char) (zero + digit));
+            remaining /= 10;
+            count++;
+        } while (remaining != 0);
+        buf.append(n < 0 ? negativeSuffix : positiveSuffix);
+    }
+
+    private static int digitCount(long negative) {
+        int count = 1;
+        for (long r = negative; r <= -10; r /= 10) {
+            count++;
+        }
+        return count;
+    }
+}
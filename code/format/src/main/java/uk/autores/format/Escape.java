@@ -0,0 +1,108 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+/**
+ * <p>
+ *     Output contexts for {@link FormatExpression#formatEscaped(java.util.Locale, StringBuffer, Escape, Object...)}.
+ * </p>
+ * <p>
+ *     Escaping is for content only; the caller writes any surrounding quotes or markup.
+ * </p>
+ *
+ * @since 17.4.0
+ */
+public enum Escape {
+    /**
+     * HTML text and quoted attribute values.
+     * Escapes <code>&amp; &lt; &gt; " '</code> as character references.
+     */
+    HTML {
+        @Override
+        String replacement(char ch) {
+            return switch (ch) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+        }
+    },
+    /**
+     * The inside of a JSON string.
+     * Escapes quotes, backslashes, control characters and the line &amp; paragraph separators.
+     */
+    JSON {
+        @Override
+        String replacement(char ch) {
+            return switch (ch) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                case '\b' -> "\\b";
+                case '\f' -> "\\f";
+                default -> (ch < 0x20 || ch == '\u2028' || ch == '\u2029') ? unicode(ch) : null;
+            };
+        }
+    },
+    /**
+     * The inside of a double-quoted CSV field.
+     * Doubles quotes.
+     */
+    CSV {
+        @Override
+        String replacement(char ch) {
+            return ch == '"' ? "\"\"" : null;
+        }
+    };
+
+    abstract String replacement(char ch);
+
+    private static String unicode(char ch) {
+        String hex = Integer.toHexString(ch);
+        return "\\u" + "0000".substring(hex.length()) + hex;
+    }
+
+    /**
+     * Escapes the buffer from the given offset in place.
+     * Does not copy if nothing requires escaping.
+     *
+     * @param buf   the buffer
+     * @param start the first char to escape
+     */
+    void escapeFrom(StringBuffer buf, int start) {
+        int end = buf.length();
+        int first = start;
+        while (first < end && replacement(buf.charAt(first)) == null) {
+            first++;
+        }
+        if (first == end) {
+            return;
+        }
+        String tail = buf.substring(first);
+        buf.setLength(first);
+        escape(tail, buf);
+    }
+
+    String escape(String s) {
+        var buf = new StringBuffer(s.length() + 16);
+        escape(s, buf);
+        return buf.toString();
+    }
+
+    private void escape(String s, StringBuffer buf) {
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            String r = replacement(ch);
+            if (r == null) {
+                buf.append(ch);
+            } else {
+                buf.append(r);
+            }
+        }
+    }
+}
@@ -29,6 +29,9 @@ final class Examples {
             case LIST:
                 args[index] = EXAMPLE_LIST;
                 break;
+            case CUSTOM:
+                args[index] = v.custom().orElseThrow().example();
+                break;
             default:
                 args[index] = EXAMPLE_ZDT;
                 break;
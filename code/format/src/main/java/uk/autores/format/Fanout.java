@@ -0,0 +1,272 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ *     Formats one set of arguments into the same message for many locales.
+ * </p>
+ * <p>
+ *     Arguments are checked as {@link FormatExpression#formatTo(Locale, StringBuffer, Object...)} checks them,
+ *     once per call rather than once per locale, and {@link Lazy} arguments are computed once.
+ *     {@link Date} arguments used only by <code>date</code> and <code>time</code> variables
+ *     are converted to {@link java.time.ZonedDateTime} once rather than once per locale.
+ * </p>
+ * <p>
+ *     Named expressions are matched by name rather than by index so translations may order them freely.
+ *     Use {@link #args(Map)} or {@link #names()} to build the argument array.
+ * </p>
+ * <pre><code>
+ *   Fanout shipped = Fanout.of(catalogs, "order.shipped");
+ *   Map&lt;Locale, String&gt; messages = shipped.format(customer, count, when);
+ * </code></pre>
+ * <p>
+ *     Instances are immutable &amp; thread safe.
+ * </p>
+ *
+ * @since 17.4.0
+ */
+public final class Fanout {
+    private final Locale[] locales;
+    private final FormatExpression[] expressions;
+    // top-level variables of all the expressions; one per distinct check
+    private final FormatVariable[] checked;
+    private final int required;
+    // by argument index
+    private final boolean[] legacy;
+    // shared by all the expressions
+    private final List<String> names;
+
+    private Fanout(Locale[] locales, FormatExpression[] expressions, boolean[] legacy) {
+        this.locales = locales;
+        this.expressions = expressions;
+        this.checked = FormatExpression.checks(new ArrayList<>(), expressions);
+        int max = 0;
+        for (FormatVariable v : checked) {
+            max = Math.max(max, v.index() + 1);
+        }
+        this.required = max;
+        this.legacy = legacy;
+        this.names = expressions.length == 0 ? List.of() : expressions[0].names();
+    }
+
+    /**
+     * Expressions for each locale.
+     * Iteration order of the map is retained.
+     * Named expressions are given one index per name across all the expressions.
+     *
+     * @param expressions expression by locale
+     * @return new instance
+     * @throws IllegalArgumentException if expressions expect incompatible types at the same index
+     *                                  or named and indexed expressions are mixed
+     */
+    public static Fanout of(Map<Locale, FormatExpression> expressions) {
+        requireNonNull(expressions, "Map cannot be null");
+        int size = expressions.size();
+        var locales = new Locale[size];
+        var exprs = new FormatExpression[size];
+        int n = 0;
+        for (var entry : expressions.entrySet()) {
+            locales[n] = requireNonNull(entry.getKey(), "Locale cannot be null");
+            exprs[n] = requireNonNull(entry.getValue(), "FormatExpression cannot be null");
+            n++;
+        }
+        exprs = FormatExpression.align(exprs);
+        int count = 0;
+        for (FormatExpression expr : exprs) {
+            count = Math.max(count, expr.argCount());
+        }
+        requireCompatible(locales, exprs, count);
+        return new Fanout(locales, exprs, legacy(exprs, count));
+    }
+
+    /**
+     * The expression with the given key from each catalog that contains it.
+     *
+     * @param catalogs catalog by locale
+     * @param key      the message key
+     * @return new instance
+     * @throws IllegalArgumentException if expressions expect incompatible types at the same index
+     *                                  or named and indexed expressions are mixed
+     * @see #of(Map)
+     */
+    public static Fanout of(Map<Locale, Catalog> catalogs, String key) {
+        requireNonNull(catalogs, "Map cannot be null");
+        requireNonNull(key, "Key cannot be null");
+        Map<Locale, FormatExpression> expressions = new LinkedHashMap<>();
+        for (var entry : catalogs.entrySet()) {
+            FormatExpression expr = entry.getValue().get(key);
+            if (expr != null) {
+                expressions.put(entry.getKey(), expr);
+            }
+        }
+        return of(expressions);
+    }
+
+    private static void requireCompatible(Locale[] locales, FormatExpression[] exprs, int count) {
+        var types = new Class<?>[count];
+        Arrays.fill(types, Object.class);
+        for (int e = 0; e < exprs.length; e++) {
+            Class<?>[] argTypes = exprs[e].argTypes();
+            for (int i = 0; i < argTypes.length; i++) {
+                Class<?> t = argTypes[i];
+                if (t == Void.class || t == Object.class || t == types[i]) {
+                    continue;
+                }
+                if (types[i] != Object.class) {
+                    var msg = locales[e] + " expects " + t.getName() + " at " + i + "; others " + types[i].getName();
+                    throw new IllegalArgumentException(msg);
+                }
+                types[i] = t;
+            }
+        }
+    }
+
+    private static boolean[] legacy(FormatExpression[] exprs, int count) {
+        var dateOnly = new boolean[count];
+        var other = new boolean[count];
+        for (FormatExpression expr : exprs) {
+            for (Formatter f : expr) {
+                if (f instanceof FormatVariable v) {
+                    boolean date = v.type() == FmtType.DATE || v.type() == FmtType.TIME;
+                    (date ? dateOnly : other)[v.index()] = true;
+                }
+            }
+            // branches are checked as they are formatted so must see what the caller passed
+            BitSet branches = expr.choiceReferences();
+            for (int i = branches.nextSetBit(0); i >= 0; i = branches.nextSetBit(i + 1)) {
+                other[i] = true;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            dateOnly[i] &= !other[i];
+        }
+        return dateOnly;
+    }
+
+    /**
+     * The locales in order.
+     *
+     * @return immutable list
+     */
+    public List<Locale> locales() {
+        return List.of(locales);
+    }
+
+    /**
+     * Variable names in argument index order.
+     *
+     * @return names shared by the expressions; empty if they are indexed
+     * @see FormatExpression#names()
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * Creates an argument array from named values.
+     * Values are placed at the index assigned to their name;
+     * missing names are null.
+     *
+     * @param values arguments by name
+     * @return array long enough for every expression
+     * @see FormatExpression#args(Map)
+     */
+    public Object[] args(Map<String, ?> values) {
+        requireNonNull(values, "Map cannot be null");
+        var args = new Object[Math.max(required, names.size())];
+        for (int i = 0; i < names.size(); i++) {
+            args[i] = values.get(names.get(i));
+        }
+        return args;
+    }
+
+    /**
+     * Formats the message for every locale sequentially.
+     *
+     * @param args array of arguments containing elements for any indices evaluated
+     * @return messages by locale in {@link #locales()} order
+     * @throws IndexOutOfBoundsException if the array is too short
+     * @throws NullPointerException if an argument that cannot be null is null
+     * @throws IllegalArgumentException if arguments do not match the expected types
+     */
+    public Map<Locale, String> format(Object... args) {
+        Object[] prepared = prepare(args);
+        var results = new String[locales.length];
+        for (int i = 0; i < locales.length; i++) {
+            results[i] = render(i, prepared);
+        }
+        return toMap(results);
+    }
+
+    /**
+     * Formats the message for every locale using the common fork-join pool.
+     * Only worthwhile for large numbers of locales or complex messages.
+     *
+     * @param args array of arguments containing elements for any indices evaluated
+     * @return messages by locale in {@link #locales()} order
+     * @throws IndexOutOfBoundsException if the array is too short
+     * @throws NullPointerException if an argument that cannot be null is null
+     * @throws IllegalArgumentException if arguments do not match the expected types
+     */
+    public Map<Locale, String> formatParallel(Object... args) {
+        Object[] prepared = prepare(args);
+        var results = new String[locales.length];
+        IntStream.range(0, locales.length)
+                .parallel()
+                .forEach(i -> results[i] = render(i, prepared));
+        return toMap(results);
+    }
+
+    /**
+     * Formats the message for every locale into caller supplied buffers.
+     *
+     * @param sinks buffer for each locale
+     * @param args  array of arguments containing elements for any indices evaluated
+     * @throws IndexOutOfBoundsException if the array is too short
+     * @throws NullPointerException if an argument that cannot be null is null
+     * @throws IllegalArgumentException if arguments do not match the expected types
+     */
+    public void formatTo(Function<Locale, StringBuffer> sinks, Object... args) {
+        requireNonNull(sinks, "Function cannot be null");
+        Object[] prepared = prepare(args);
+        for (int i = 0; i < locales.length; i++) {
+            var buf = requireNonNull(sinks.apply(locales[i]), "StringBuffer cannot be null");
+            expressions[i].render(locales[i], buf, prepared);
+        }
+    }
+
+    private String render(int i, Object[] prepared) {
+        var buf = new StringBuffer();
+        expressions[i].render(locales[i], buf, prepared);
+        return buf.toString();
+    }
+
+    private Map<Locale, String> toMap(String[] results) {
+        Map<Locale, String> map = new LinkedHashMap<>(locales.length * 2);
+        for (int i = 0; i < locales.length; i++) {
+            map.put(locales[i], results[i]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private Object[] prepare(Object[] args) {
+        requireNonNull(args, "Object array cannot be null");
+        Object[] prepared = FormatExpression.validate(checked, required, args, true);
+        for (int i = 0; i < required; i++) {
+            if (legacy[i] && prepared[i] instanceof Date) {
+                if (prepared == args) {
+                    prepared = args.clone();
+                }
+                prepared[i] = Dates.handleLegacy(prepared[i]);
+            }
+        }
+        return prepared;
+    }
+}
@@ -118,7 +118,17 @@ public enum FmtType {
      *     Example: <code>{0,list}</code>
      * </p>
      */
-    LIST(Lists::format, "list", List.class, FmtStyle.NONE, FmtStyle.OR, FmtStyle.UNIT);
+    LIST(Lists::format, "list", List.class, FmtStyle.NONE, FmtStyle.OR, FmtStyle.UNIT),
+    /**
+     * A {@link CustomFmtType} discovered at runtime.
+     * <p>
+     *     Example: <code>{0,bytes}</code> given a provider with the label "bytes".
+     * </p>
+     *
+     * @see FormatVariable#custom()
+     * @since 17.4.0
+     */
+    CUSTOM(Customs::format, "(custom)", Object.class, FmtStyle.NONE, FmtStyle.SUBFORMAT);
 
     final Fmt formatter;
     final String label;
@@ -135,7 +145,7 @@ public enum FmtType {
     /**
      * Typically, the type string from the {@link java.text.MessageFormat} table.
      *
-     * @return string used in expressions or "(none)"
+     * @return string used in expressions, "(none)" or "(custom)"
      */
     public String label() {
         return label;
@@ -146,6 +156,7 @@ public enum FmtType {
      *     <li>{@link #NONE}: {@link Object}</li>
      *     <li>{@link #NUMBER}, {@link #CHOICE}: {@link Number}</li>
      *     <li>{@link #LIST}: {@link java.util.List}</li>
+     *     <li>{@link #CUSTOM}: {@link Object}; see {@link CustomFmtType#argType()}</li>
      *     <li>Others: {@link TemporalAccessor}</li>
      * </ul>
      *
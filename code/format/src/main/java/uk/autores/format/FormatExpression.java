@@ -2,13 +2,15 @@
 // SPDX-License-Identifier: Apache-2.0
 package uk.autores.format;
 
+import java.lang.invoke.MethodHandles;
 import java.text.*;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalUnit;
 import java.util.*;
 import java.util.function.BiPredicate;
 
-import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -24,14 +26,87 @@ import static java.util.Objects.requireNonNull;
  * </ul>
  */
 public final class FormatExpression extends Formatter implements Iterable<Formatter> {
-    private static final BiPredicate<FormatVariable, FormatVariable> DEFAULT_MATCHER = FormatVariable::laxMatch;
+    static final BiPredicate<FormatVariable, FormatVariable> DEFAULT_MATCHER = FormatVariable::laxMatch;
 
     private final Formatter[] expr;
     private final int vars;
+    private final String[] names;
+    private final int variableCount; // FormatVariable segments
+    private final Class<?>[] types;
+    // minimum argument array length
+    private final int required;
+    // one top-level variable per distinct check; validated before formatting
+    private final FormatVariable[] checked;
+    // fast paths; null where not applicable
+    private final String constant;
+    private final FormatVariable single;
+    private volatile Shape shape;
 
     FormatExpression(Formatter[] expr, int vars) {
+        this(expr, vars, new String[0]);
+    }
+
+    private FormatExpression(Formatter[] expr, int vars, String[] names) {
         this.expr = expr;
         this.vars = vars;
+        this.names = names;
+        this.variableCount = variableCount(expr);
+        this.types = argTypes(expr, vars);
+        this.checked = checks(new ArrayList<>(variableCount), this);
+        int max = 0;
+        for (FormatVariable v : checked) {
+            max = Math.max(max, v.index() + 1);
+        }
+        this.required = max;
+        this.constant = constant(expr);
+        this.single = (expr.length == 1
+                && expr[0] instanceof FormatVariable v
+                && v.type() == FmtType.NONE) ? v : null;
+    }
+
+    private static int variableCount(Formatter[] expr) {
+        int count = 0;
+        for (Formatter f : expr) {
+            if (f instanceof FormatVariable) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String constant(Formatter[] expr) {
+        // quoted sections can leave several adjacent literals
+        var buf = new StringBuilder();
+        for (Formatter f : expr) {
+            if (!(f instanceof FormatLiteral literal)) {
+                return null;
+            }
+            buf.append(literal.processed());
+        }
+        return buf.toString();
+    }
+
+    /**
+     * As {@link Formatter#format(Locale, Object...)}.
+     * Expressions without variables return the same instance every time.
+     *
+     * @param l    the locale
+     * @param args array of arguments containing elements for any indices evaluated
+     * @return the evaluated expression
+     */
+    @Override
+    public String format(Locale l, Object... args) {
+        if (constant != null || single != null) {
+            requireNonNull(l, "Locale cannot be null");
+            requireNonNull(args, "Object array cannot be null");
+            if (constant != null) {
+                return constant;
+            }
+            if (args[single.index()] instanceof String s) {
+                return s;
+            }
+        }
+        return super.format(l, args);
     }
 
     /**
@@ -63,10 +138,30 @@ public final class FormatExpression extends Formatter implements Iterable<Format
      *     Variables of type "list" require a JDK22+ runtime.
      *     {@link Object} arrays may be used as arguments.
      * </p>
+     * <h4>Lazy Arguments</h4>
+     * <p>
+     *     {@link Lazy} arguments are replaced by their values.
+     *     Those for indices used outside <code>choice</code> branches are computed before formatting starts;
+     *     those for indices only used in unselected <code>choice</code> branches are never computed.
+     *     The caller's array is not modified.
+     *     Other {@link java.util.function.Supplier}s are formatted like any other object.
+     *     See {@link #required(Object...)}.
+     * </p>
+     * <h4>Validation</h4>
+     * <p>
+     *     Arguments for variables outside <code>choice</code> branches are checked once
+     *     against their {@link #argTypes()} before anything is appended to the buffer.
+     *     Arguments only used in <code>choice</code> branches are checked when the branch is formatted.
+     *     Only untyped variables such as <code>{0}</code> accept null.
+     *     Each argument is checked by one variable per type; segments are not checked again as they are formatted.
+     * </p>
      *
      * @param l    the locale
      * @param buf  the target buffer
      * @param args array of arguments containing elements for any indices evaluated
+     * @throws IndexOutOfBoundsException if the array is too short
+     * @throws NullPointerException if an argument that cannot be null is null
+     * @throws IllegalArgumentException if an argument is of the wrong type
      */
     @Override
     public void formatTo(Locale l, StringBuffer buf, Object... args) {
@@ -74,9 +169,456 @@ public final class FormatExpression extends Formatter implements Iterable<Format
         requireNonNull(buf, "StringBuffer cannot be null");
         requireNonNull(args, "Object array cannot be null");
 
+        render(l, buf, validate(checked, required, args, true));
+    }
+
+    @Override
+    void render(Locale l, StringBuffer buf, Object[] args) {
+        for (Formatter f : expr) {
+            f.render(l, buf, args);
+        }
+    }
+
+    /**
+     * Adds the top-level variables of the expressions to the list, one for each distinct check.
+     *
+     * @param list        the target
+     * @param expressions the sources
+     * @return the list as an array
+     */
+    static FormatVariable[] checks(List<FormatVariable> list, FormatExpression... expressions) {
+        for (FormatExpression e : expressions) {
+            for (Formatter f : e.expr) {
+                if (f instanceof FormatVariable v && list.stream().noneMatch(v::sameCheck)) {
+                    list.add(v);
+                }
+            }
+        }
+        return list.toArray(new FormatVariable[0]);
+    }
+
+    /**
+     * Checks arguments with {@link FormatVariable#check(Object)} in one pass.
+     * {@link Lazy} arguments are computed if resolving or skipped if not.
+     *
+     * @param checked  from {@link #checks(List, FormatExpression...)}
+     * @param required minimum array length
+     * @param args     the caller's arguments
+     * @param resolve  whether to compute lazy arguments
+     * @return the arguments; a copy if any were resolved
+     */
+    static Object[] validate(FormatVariable[] checked, int required, Object[] args, boolean resolve) {
+        if (args.length < required) {
+            throw new IndexOutOfBoundsException("Expected " + required + " arguments; got " + args.length);
+        }
+        Object[] a = args;
+        for (FormatVariable v : checked) {
+            int i = v.index();
+            if (resolve) {
+                a = Lazy.resolve(a, args, i);
+            } else if (a[i] instanceof Lazy) {
+                continue;
+            }
+            v.check(a[i]);
+        }
+        return a;
+    }
+
+    /**
+     * <p>
+     *     As {@link #formatTo(Locale, StringBuffer, Object...)} but appends at most the given number of chars.
+     * </p>
+     * <p>
+     *     Formatting stops at the first segment that exceeds the limit; later segments are not evaluated.
+     *     A single variable is always formatted in full before being cut,
+     *     so this bounds the output but not the work done by a huge <code>{0}</code> or <code>{0,list}</code>.
+     *     Surrogate pairs are not split; the output may be one char short of the limit.
+     *     {@link Lazy} arguments are only computed for segments that are reached
+     *     and their values are checked as they are formatted.
+     * </p>
+     *
+     * @param l        the locale
+     * @param buf      the target buffer
+     * @param maxChars the maximum number of chars to append
+     * @param args     array of arguments containing elements for any indices evaluated
+     * @return true if the output was truncated
+     * @throws IllegalArgumentException if maxChars is negative
+     *
+     * @since 17.4.0
+     */
+    public boolean formatBounded(Locale l, StringBuffer buf, int maxChars, Object... args) {
+        requireNonNull(l, "Locale cannot be null");
+        requireNonNull(buf, "StringBuffer cannot be null");
+        requireNonNull(args, "Object array cannot be null");
+        if (maxChars < 0) {
+            throw new IllegalArgumentException("maxChars cannot be negative: " + maxChars);
+        }
+
+        int start = buf.length();
+        int limit = (int) Math.min((long) start + maxChars, Integer.MAX_VALUE);
+        Object[] a = validate(checked, required, args, false);
+        for (Formatter f : expr) {
+            if (f instanceof FormatVariable v && args[v.index()] instanceof Lazy) {
+                a = Lazy.resolve(a, args, v.index());
+                v.formatTo(l, buf, a);
+            } else {
+                f.render(l, buf, a);
+            }
+            if (buf.length() > limit) {
+                truncate(buf, start, limit);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>
+     *     As {@link #formatTo(Locale, StringBuffer, Object...)} but escapes the output for the given context.
+     * </p>
+     * <p>
+     *     Literal text is escaped once and cached.
+     *     Variable output is escaped in the buffer as each variable is formatted,
+     *     without copying unless it contains characters that need escaping.
+     * </p>
+     *
+     * @param l      the locale
+     * @param buf    the target buffer
+     * @param escape the output context
+     * @param args   array of arguments containing elements for any indices evaluated
+     *
+     * @since 17.4.0
+     */
+    public void formatEscaped(Locale l, StringBuffer buf, Escape escape, Object... args) {
+        requireNonNull(l, "Locale cannot be null");
+        requireNonNull(buf, "StringBuffer cannot be null");
+        requireNonNull(escape, "Escape cannot be null");
+        requireNonNull(args, "Object array cannot be null");
+
+        Object[] a = validate(checked, required, args, true);
+        for (Formatter f : expr) {
+            if (f instanceof FormatLiteral literal) {
+                buf.append(literal.escaped(escape));
+            } else {
+                var v = (FormatVariable) f;
+                int start = buf.length();
+                v.render(l, buf, a);
+                escape.escapeFrom(buf, start);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     *     As {@link #formatTo(Locale, StringBuffer, Object...)} but records where each variable's output lands.
+     * </p>
+     * <p>
+     *     For the <code>n</code>th {@link FormatVariable} in {@link #iterator()} order
+     *     <code>spans[2n]</code> is set to the buffer offset of its first char
+     *     and <code>spans[2n + 1]</code> to the offset after its last.
+     *     The array can be reused between calls.
+     * </p>
+     *
+     * @param l     the locale
+     * @param buf   the target buffer
+     * @param spans receives start &amp; end offsets; at least twice the number of variables in length
+     * @param args  array of arguments containing elements for any indices evaluated
+     * @return the number of variables recorded
+     * @throws IllegalArgumentException if the span array is too short
+     *
+     * @since 17.4.0
+     */
+    public int formatSpans(Locale l, StringBuffer buf, int[] spans, Object... args) {
+        requireNonNull(l, "Locale cannot be null");
+        requireNonNull(buf, "StringBuffer cannot be null");
+        requireNonNull(spans, "int array cannot be null");
+        requireNonNull(args, "Object array cannot be null");
+        int spanCount = 2 * variableCount;
+        if (spans.length < spanCount) {
+            throw new IllegalArgumentException("Span array requires " + spanCount + " elements; got " + spans.length);
+        }
+
+        Object[] a = validate(checked, required, args, true);
+        int n = 0;
+        for (Formatter f : expr) {
+            if (f instanceof FormatVariable v) {
+                spans[n++] = buf.length();
+                v.render(l, buf, a);
+                spans[n++] = buf.length();
+            } else {
+                f.render(l, buf, a);
+            }
+        }
+        return n / 2;
+    }
+
+    private static void truncate(StringBuffer buf, int start, int limit) {
+        int end = limit;
+        if (end > start
+                && Character.isHighSurrogate(buf.charAt(end - 1))
+                && Character.isLowSurrogate(buf.charAt(end))) {
+            end--;
+        }
+        buf.setLength(end);
+    }
+
+    /**
+     * The ordered variables of this expression.
+     *
+     * @return shape
+     * @see Shape#share(FormatExpression)
+     *
+     * @since 17.4.0
+     */
+    public Shape shape() {
+        Shape sh = shape;
+        if (sh == null) {
+            sh = Shape.of(this, variableCount);
+            shape = sh;
+        }
+        return sh;
+    }
+
+    FormatExpression withVariables(FormatVariable[] variables) {
+        Formatter[] copy = expr.clone();
+        boolean changed = false;
+        int n = 0;
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] instanceof FormatVariable) {
+                changed |= copy[i] != variables[n];
+                copy[i] = variables[n++];
+            }
+        }
+        if (!changed) {
+            return this;
+        }
+        return new FormatExpression(copy, vars, names);
+    }
+
+    /**
+     * <p>
+     *     Creates a copy of this expression with argument indices changed.
+     *     The variable at index <code>i</code> is moved to <code>mapping[i]</code>,
+     *     including references in <code>choice</code> sub-formats.
+     * </p>
+     * <p>
+     *     Mapping two indices to one is allowed if the variables are compatible.
+     * </p>
+     * <pre><code>
+     *   // "{0} of {1}" becomes "{2} of {0}"
+     *   FormatExpression.parse("{0} of {1}").remap(2, 0);
+     * </code></pre>
+     *
+     * @param mapping new index by old index; at least {@link #argCount()} in length
+     * @return remapped expression
+     * @throws IllegalArgumentException if the mapping is too short or negative, the variables become incompatible
+     *                                  or this is a named expression
+     * @see #concat(FormatExpression...)
+     *
+     * @since 17.4.0
+     */
+    public FormatExpression remap(int... mapping) {
+        requireNonNull(mapping, "int array cannot be null");
+        if (names.length > 0) {
+            throw new IllegalArgumentException("Named expressions are composed by name");
+        }
+        for (int m : mapping) {
+            if (m < 0) {
+                throw new IllegalArgumentException("Negative index in mapping: " + m);
+            }
+        }
+        var list = new ArrayList<Formatter>(expr.length);
         for (Formatter f : expr) {
-            f.formatTo(l, buf, args);
+            list.add(f instanceof FormatVariable v ? remap(v, mapping) : f);
         }
+        return build(list, names, DEFAULT_MATCHER);
+    }
+
+    /**
+     * <p>
+     *     Joins expressions into a single flat expression.
+     *     Literals that meet at the boundaries are merged.
+     *     Indexed expressions keep their indices so <code>{0}</code> in each part refers to the same argument;
+     *     use {@link #remap(int...)} first to separate them.
+     *     Named expressions share arguments by name.
+     * </p>
+     * <p>
+     *     Variable compatibility is checked once here as by {@link #parse(CharSequence)}.
+     * </p>
+     *
+     * @param parts the expressions in order
+     * @return flat expression
+     * @throws IllegalArgumentException if named and indexed expressions are mixed or variables are incompatible
+     *
+     * @since 17.4.0
+     */
+    public static FormatExpression concat(FormatExpression... parts) {
+        requireNonNull(parts, "FormatExpression array cannot be null");
+        Map<String, Integer> slots = slots(parts);
+        var list = new ArrayList<Formatter>();
+        for (FormatExpression part : parts) {
+            int[] mapping = part.mapping(slots);
+            for (Formatter f : part.expr) {
+                if (f instanceof FormatVariable v && mapping != null) {
+                    list.add(remap(v, mapping));
+                } else if (f instanceof FormatLiteral literal && lastIsLiteral(list)) {
+                    addLiteral(list, literal.processed());
+                } else {
+                    list.add(f);
+                }
+            }
+        }
+        return build(list, slots.keySet().toArray(new String[0]), DEFAULT_MATCHER);
+    }
+
+    /**
+     * Maps named expressions onto one table of names so each name has the same index in all of them.
+     * Indexed expressions are returned unchanged.
+     *
+     * @param parts the expressions
+     * @return expressions sharing the same {@link #names()}
+     * @throws IllegalArgumentException if named and indexed expressions are mixed
+     */
+    static FormatExpression[] align(FormatExpression... parts) {
+        Map<String, Integer> slots = slots(parts);
+        if (slots.isEmpty()) {
+            return parts;
+        }
+        String[] shared = slots.keySet().toArray(new String[0]);
+        var aligned = new FormatExpression[parts.length];
+        for (int p = 0; p < parts.length; p++) {
+            int[] mapping = parts[p].mapping(slots);
+            var list = new ArrayList<Formatter>(parts[p].expr.length);
+            for (Formatter f : parts[p].expr) {
+                list.add(f instanceof FormatVariable v && mapping != null ? remap(v, mapping) : f);
+            }
+            aligned[p] = build(list, shared, DEFAULT_MATCHER);
+        }
+        return aligned;
+    }
+
+    // names in order of first appearance; empty if all the parts are indexed
+    private static Map<String, Integer> slots(FormatExpression[] parts) {
+        Map<String, Integer> slots = new LinkedHashMap<>();
+        boolean named = false;
+        boolean indexed = false;
+        for (FormatExpression part : parts) {
+            requireNonNull(part, "FormatExpression cannot be null");
+            boolean isNamed = part.names.length > 0;
+            named |= isNamed;
+            indexed |= !isNamed && part.vars > 0;
+            if (named && indexed) {
+                throw new IllegalArgumentException("Cannot mix named and indexed expressions: " + part);
+            }
+            for (String name : part.names) {
+                slot(slots, name);
+            }
+        }
+        return slots;
+    }
+
+    // new index by old index; null for indexed expressions
+    private int[] mapping(Map<String, Integer> slots) {
+        if (names.length == 0) {
+            return null;
+        }
+        var mapping = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            mapping[i] = slots.get(names[i]);
+        }
+        return mapping;
+    }
+
+    private static FormatVariable remap(FormatVariable v, int[] mapping) {
+        int index = mapped(mapping, v.index());
+        String subformat = v.type() == FmtType.CHOICE
+                ? Choices.rewrite(v.subformat(), text -> remap(variable(text), mapping).toString())
+                : v.subformat();
+        // named variables refer to arguments by name in the source so it is unchanged
+        String raw = v.name().isEmpty()
+                ? source(v, Integer.toString(index), subformat)
+                : v.toString();
+        if (index == v.index() && subformat.equals(v.subformat()) && raw.equals(v.toString())) {
+            return v;
+        }
+        return v.reindex(raw, index, subformat);
+    }
+
+    private static String source(FormatVariable v, String argument, String subformat) {
+        String raw = v.toString();
+        int type = raw.indexOf(',');
+        if (type < 0) {
+            return "{" + argument + "}";
+        }
+        if (v.type() != FmtType.CHOICE) {
+            return "{" + argument + raw.substring(type);
+        }
+        int style = raw.indexOf(',', type + 1);
+        return "{" + argument + raw.substring(type, style + 1) + subformat + "}";
+    }
+
+    private static FormatVariable variable(String pattern) {
+        return (FormatVariable) parse(pattern).get(0);
+    }
+
+    private static int mapped(int[] mapping, int index) {
+        if (index >= mapping.length) {
+            throw new IllegalArgumentException("No mapping for index " + index);
+        }
+        return mapping[index];
+    }
+
+    /**
+     * Indices referenced by variables inside choice sub-formats, at any depth.
+     *
+     * @return referenced indices
+     */
+    BitSet choiceReferences() {
+        var references = new BitSet();
+        for (Formatter f : expr) {
+            if (f instanceof FormatVariable v && v.type() == FmtType.CHOICE) {
+                references(v.subformat(), references);
+            }
+        }
+        return references;
+    }
+
+    private static void references(String subformat, BitSet references) {
+        Choices.rewrite(subformat, text -> {
+            FormatVariable v = variable(text);
+            references.set(v.index());
+            if (v.type() == FmtType.CHOICE) {
+                references(v.subformat(), references);
+            }
+            return text;
+        });
+    }
+
+    /**
+     * Compiles a matcher that extracts arguments from text this expression produced.
+     *
+     * @return matcher
+     * @throws IllegalArgumentException if two variables are adjacent; there is no anchor to split them
+     * @see FormatMatcher
+     *
+     * @since 17.4.0
+     */
+    public FormatMatcher matcher() {
+        return FormatMatcher.of(this);
+    }
+
+    /**
+     * Defers formatting until the message is read.
+     *
+     * @param l    the locale
+     * @param args array of arguments containing elements for any indices evaluated
+     * @return unformatted message
+     * @see DeferredMessage
+     *
+     * @since 17.4.0
+     */
+    public DeferredMessage defer(Locale l, Object... args) {
+        return DeferredMessage.of(this, l, args);
     }
 
     /**
@@ -115,6 +657,116 @@ public final class FormatExpression extends Formatter implements Iterable<Format
         return vars;
     }
 
+    /**
+     * <p>
+     *     The argument indices that formatting with the given arguments would evaluate.
+     * </p>
+     * <p>
+     *     Only <code>choice</code> variables are evaluated, to select branches,
+     *     so only their arguments need be present.
+     *     Use to avoid computing arguments that the selected branches do not use.
+     *     {@link Lazy} arguments for <code>choice</code> variables are computed.
+     * </p>
+     *
+     * @param args array of arguments containing elements for any <code>choice</code> variables
+     * @return sorted, immutable indices
+     *
+     * @since 17.4.0
+     */
+    public SortedSet<Integer> required(Object... args) {
+        requireNonNull(args, "Object array cannot be null");
+        SortedSet<Integer> results = new TreeSet<>();
+        required(args, results);
+        return Collections.unmodifiableSortedSet(results);
+    }
+
+    private void required(Object[] args, Set<Integer> results) {
+        for (Formatter f : expr) {
+            if (f instanceof FormatVariable v) {
+                results.add(v.index());
+                if (v.type() == FmtType.CHOICE) {
+                    String choice = Choices.choose(v, Lazy.unwrap(args[v.index()]));
+                    if (choice.indexOf('{') >= 0) {
+                        parse(choice).required(args, results);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Variable names by {@link FormatVariable#index()} for expressions created by {@link #parseNamed(CharSequence)}.
+     *
+     * @return immutable list; empty for indexed expressions
+     *
+     * @since 17.4.0
+     */
+    public List<String> names() {
+        return List.of(names);
+    }
+
+    /**
+     * <p>
+     *     Creates an argument array from named values.
+     *     Values are placed at the index assigned to their name;
+     *     missing names are null.
+     * </p>
+     * <p>
+     *     Performs one lookup per name.
+     *     To avoid the map entirely populate arrays of {@link #argCount()} using {@link #names()}.
+     * </p>
+     *
+     * @param values arguments by name
+     * @return array of length {@link #argCount()}
+     *
+     * @since 17.4.0
+     */
+    public Object[] args(Map<String, ?> values) {
+        requireNonNull(values, "Map cannot be null");
+        var args = new Object[vars];
+        for (int i = 0; i < names.length; i++) {
+            args[i] = values.get(names[i]);
+        }
+        return args;
+    }
+
+    /**
+     * As {@link #bindTo(MethodHandles.Lookup, Class)} using {@link MethodHandles#publicLookup()}.
+     * The record must be public and in a package exported to this module.
+     *
+     * @param type the record type
+     * @param <R>  the record type
+     * @return binding
+     * @throws IllegalArgumentException if components are missing, inaccessible or of incompatible types
+     *
+     * @since 17.4.0
+     */
+    public <R extends Record> RecordBinding<R> bindTo(Class<R> type) {
+        return bindTo(MethodHandles.publicLookup(), type);
+    }
+
+    /**
+     * <p>
+     *     Binds the components of a record type to the arguments of this expression.
+     *     Accessors are resolved and checked against {@link #argTypes()} once, here.
+     * </p>
+     * <p>
+     *     Pass <code>MethodHandles.lookup()</code> from the declaring code to bind non-public records.
+     * </p>
+     *
+     * @param lookup used to resolve the component accessors
+     * @param type   the record type
+     * @param <R>    the record type
+     * @return binding
+     * @throws IllegalArgumentException if components are missing, inaccessible or of incompatible types
+     * @see RecordBinding
+     *
+     * @since 17.4.0
+     */
+    public <R extends Record> RecordBinding<R> bindTo(MethodHandles.Lookup lookup, Class<R> type) {
+        return RecordBinding.of(lookup, type, this);
+    }
+
     /**
      * <p>
      *     The expected types for any {@link FormatVariable}s.
@@ -127,25 +779,29 @@ public final class FormatExpression extends Formatter implements Iterable<Format
      * @return types by index
      */
     public Class<?>[] argTypes() {
+        return types.clone();
+    }
+
+    private static Class<?>[] argTypes(Formatter[] expr, int vars) {
         var results = new Class<?>[vars];
         Arrays.fill(results, Void.class);
         for (Formatter segment : expr) {
             if (segment instanceof FormatVariable v) {
                 results[v.index()] = (v.type() == FmtType.NONE)
-                        ? narrowType(v)
-                        : v.type().argType;
+                        ? narrowType(expr, v)
+                        : v.argType();
             }
         }
         return results;
     }
 
-    private Class<?> narrowType(FormatVariable current) {
+    private static Class<?> narrowType(Formatter[] expr, FormatVariable current) {
         for (var segment : expr) {
             if (segment != current
                     && segment instanceof FormatVariable v
                     && v.index() == current.index()
                     && v.type() != FmtType.NONE) {
-                return v.type().argType;
+                return v.argType();
             }
         }
         return Object.class;
@@ -213,6 +869,156 @@ public final class FormatExpression extends Formatter implements Iterable<Format
         return x * 2;
     }
 
+    /**
+     * <p>
+     *     Creates a copy of this expression where temporal variables remember the last value they formatted.
+     *     Intended for expressions like log messages where the same timestamp is formatted repeatedly.
+     * </p>
+     * <p>
+     *     Variables with a {@link FmtType#argType()} of {@link TemporalAccessor} truncate
+     *     {@link java.time.Instant}, {@link java.time.LocalDate}, {@link java.time.LocalTime},
+     *     {@link java.time.LocalDateTime}, {@link java.time.OffsetDateTime} and {@link java.time.ZonedDateTime}
+     *     arguments to the given unit before formatting.
+     *     If the truncated value and locale match the previous call the previous text is reused.
+     *     Use a unit no coarser than the finest field the variable renders;
+     *     <code>{0,ISO_INSTANT}</code> memoized to {@link java.time.temporal.ChronoUnit#SECONDS}
+     *     will not print fractions of a second.
+     *     Other argument types are formatted as normal.
+     * </p>
+     * <p>
+     *     Each variable holds one value so this is of little use for arguments that alternate.
+     * </p>
+     *
+     * @param unit truncation unit; must divide a standard day
+     * @return memoizing expression
+     * @throws IllegalArgumentException if the unit is not supported
+     *
+     * @since 17.4.0
+     */
+    public FormatExpression memoize(TemporalUnit unit) {
+        requireNonNull(unit, "TemporalUnit cannot be null");
+        // fail fast even if there are no temporal variables
+        Memo.of(unit);
+        Formatter[] copy = expr.clone();
+        Map<Formatter, Formatter> memos = new IdentityHashMap<>();
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] instanceof FormatVariable v && v.type().argType == TemporalAccessor.class) {
+                copy[i] = memos.computeIfAbsent(v, k -> v.memoize(unit));
+            }
+        }
+        return new FormatExpression(copy, vars, names);
+    }
+
+    /**
+     * <p>
+     *     Creates an expression with some arguments fixed in advance.
+     *     Variables whose {@link FormatVariable#index()} is a key in the map are formatted once
+     *     and merged with adjacent literals.
+     *     Remaining variables keep their indices so the same argument array layout can be used;
+     *     values at bound indices are ignored.
+     * </p>
+     * <p>
+     *     {@link FmtType#CHOICE} variables are replaced by the selected branch
+     *     which is itself partially applied.
+     *     Bound indices in the branches of unbound <code>choice</code> variables are applied in every branch.
+     * </p>
+     * <pre><code>
+     *   var expr = FormatExpression.parse("{0} has {1,number} new messages");
+     *   var bound = expr.partial(l, Map.of(0, "Example Corp"));
+     *   // "Example Corp has {1,number} new messages"
+     *   String s = bound.format(l, null, 3);
+     * </code></pre>
+     * <p>
+     *     The result is only valid for the given locale.
+     * </p>
+     *
+     * @param l     the locale
+     * @param bound arguments by index
+     * @return expression over any unbound variables
+     * @throws IllegalArgumentException if an index is negative
+     *
+     * @since 17.4.0
+     */
+    public FormatExpression partial(Locale l, Map<Integer, ?> bound) {
+        requireNonNull(l, "Locale cannot be null");
+        requireNonNull(bound, "Map cannot be null");
+
+        int len = vars;
+        for (int i : bound.keySet()) {
+            if (i < 0) {
+                throw new IllegalArgumentException("Negative index " + i);
+            }
+            len = Math.max(len, i + 1);
+        }
+        var args = new Object[len];
+        for (var e : bound.entrySet()) {
+            args[e.getKey()] = e.getValue();
+        }
+        var list = new ArrayList<Formatter>();
+        partial(l, bound, args, list);
+        var result = list.toArray(new Formatter[0]);
+        return new FormatExpression(result, Math.max(argCount(result), names.length), names);
+    }
+
+    private void partial(Locale l, Map<Integer, ?> bound, Object[] args, List<Formatter> list) {
+        for (Formatter f : expr) {
+            if (f instanceof FormatVariable v && bound.containsKey(v.index())) {
+                if (v.type() != FmtType.CHOICE) {
+                    addLiteral(list, v.format(l, args));
+                    continue;
+                }
+                String choice = Choices.choose(v, args[v.index()]);
+                if (choice.indexOf('{') >= 0) {
+                    parse(choice).partial(l, bound, args, list);
+                } else {
+                    addLiteral(list, choice);
+                }
+            } else if (f instanceof FormatVariable v && v.type() == FmtType.CHOICE) {
+                list.add(partial(l, bound, v));
+            } else if (f instanceof FormatLiteral literal && lastIsLiteral(list)) {
+                addLiteral(list, literal.processed());
+            } else {
+                list.add(f);
+            }
+        }
+    }
+
+    // an unbound choice keeps its branches but bound indices in them are applied
+    private FormatVariable partial(Locale l, Map<Integer, ?> bound, FormatVariable v) {
+        String subformat = Choices.rewrite(v.subformat(), text -> parse(text).partial(l, bound).toString());
+        if (subformat.equals(v.subformat())) {
+            return v;
+        }
+        String raw = v.name().isEmpty()
+                ? source(v, Integer.toString(v.index()), subformat)
+                : source(v, v.name(), named(subformat));
+        return v.reindex(raw, v.index(), subformat);
+    }
+
+    private String named(String subformat) {
+        return Choices.rewrite(subformat, text -> {
+            FormatVariable v = variable(text);
+            String sub = v.type() == FmtType.CHOICE ? named(v.subformat()) : v.subformat();
+            return source(v, names[v.index()], sub);
+        });
+    }
+
+    private static boolean lastIsLiteral(List<Formatter> list) {
+        return !list.isEmpty() && list.get(list.size() - 1) instanceof FormatLiteral;
+    }
+
+    private static void addLiteral(List<Formatter> list, String processed) {
+        if (processed.isEmpty()) {
+            return;
+        }
+        if (lastIsLiteral(list)) {
+            var head = (FormatLiteral) list.remove(list.size() - 1);
+            processed = head.processed() + processed;
+        }
+        // raw text is regenerated; concatenating escaped fragments can change their meaning
+        list.add(FormatLiteral.of(processed));
+    }
+
     int size() {
         return expr.length;
     }
@@ -262,6 +1068,62 @@ public final class FormatExpression extends Formatter implements Iterable<Format
     public static FormatExpression parse(CharSequence pattern, BiPredicate<FormatVariable, FormatVariable> compatibility) {
         requireNonNull(pattern, "CharSequence pattern cannot be null");
         requireNonNull(compatibility, "BiPredicate cannot be null");
+        return parse(pattern, compatibility, Customs.installed(), null);
+    }
+
+    /**
+     * <p>
+     *     Parses an expression where variables are named rather than indexed using the laxest type matching.
+     * </p>
+     * <code>"{user} has {count,choice,0#no files|1#one file|1&lt;{count,number,integer} files}."</code>
+     * <p>
+     *     Names are Java identifiers.
+     *     Each distinct name is assigned a {@link FormatVariable#index()} in order of first appearance,
+     *     including names in {@link FmtType#CHOICE} branches.
+     *     Indexed variables like <code>{0}</code> are not permitted.
+     *     Use {@link #names()} or {@link #args(Map)} to build argument arrays.
+     * </p>
+     * <p>
+     *     The {@link FormatVariable#subformat()} of named choice variables has names replaced by indices.
+     * </p>
+     *
+     * @param pattern source text
+     * @return parsed expression
+     * @throws IllegalArgumentException on malformed expressions
+     *
+     * @since 17.4.0
+     */
+    public static FormatExpression parseNamed(CharSequence pattern) {
+        return parseNamed(pattern, DEFAULT_MATCHER);
+    }
+
+    /**
+     * As {@link #parseNamed(CharSequence)} with the ability to apply stricter variable compatibility checks.
+     *
+     * @param pattern source text
+     * @param compatibility compatibility check
+     * @return parsed expression
+     * @throws IllegalArgumentException on malformed expressions
+     * @see #parse(CharSequence, BiPredicate)
+     *
+     * @since 17.4.0
+     */
+    public static FormatExpression parseNamed(CharSequence pattern, BiPredicate<FormatVariable, FormatVariable> compatibility) {
+        requireNonNull(pattern, "CharSequence pattern cannot be null");
+        requireNonNull(compatibility, "BiPredicate cannot be null");
+        return parse(pattern, compatibility, Customs.installed(), new LinkedHashMap<>());
+    }
+
+    static FormatExpression parse(CharSequence pattern,
+                                  BiPredicate<FormatVariable, FormatVariable> compatibility,
+                                  Map<String, CustomFmtType> customs) {
+        return parse(pattern, compatibility, customs, null);
+    }
+
+    private static FormatExpression parse(CharSequence pattern,
+                                          BiPredicate<FormatVariable, FormatVariable> compatibility,
+                                          Map<String, CustomFmtType> customs,
+                                          Map<String, Integer> slots) {
 
         var list = new ArrayList<Formatter>();
         int offset = 0;
@@ -274,10 +1136,12 @@ public final class FormatExpression extends Formatter implements Iterable<Format
                 concatAdjacentLiterals(list);
                 i += segment.toString().length();
                 offset = i;
+                // the loop increment moves to the char after the quoted section
+                i--;
             } else if (ch == '{') {
                 addRaw(list, pattern, offset, i);
                 concatAdjacentLiterals(list);
-                FormatVariable segment = parseVariable(pattern, i);
+                FormatVariable segment = parseVariable(pattern, i, customs, slots);
                 list.add(segment);
                 i += segment.toString().length();
                 offset = i;
@@ -289,12 +1153,18 @@ public final class FormatExpression extends Formatter implements Iterable<Format
             concatAdjacentLiterals(list);
         }
 
+        var names = slots == null ? new String[0] : slots.keySet().toArray(new String[0]);
+        return build(list, names, compatibility);
+    }
+
+    private static FormatExpression build(List<Formatter> list, String[] names,
+                                          BiPredicate<FormatVariable, FormatVariable> compatibility) {
         dropDupes(list);
 
         var expr = list.toArray(new Formatter[0]);
-        int vars = argCount(expr);
+        int vars = Math.max(argCount(expr), names.length);
 
-        var fe = new FormatExpression(expr, vars);
+        var fe = new FormatExpression(expr, vars, names);
         var incompatibilities = fe.incompatibilities(fe, compatibility);
         if (incompatibilities.isEmpty() && compatibility != DEFAULT_MATCHER) {
             incompatibilities = fe.incompatibilities(fe);
@@ -384,13 +1254,43 @@ public final class FormatExpression extends Formatter implements Iterable<Format
         return false;
     }
 
-    private static FormatVariable parseVariable(CharSequence sequence, int offset) {
+    private static FormatVariable parseVariable(CharSequence sequence, int offset,
+                                                Map<String, CustomFmtType> customs,
+                                                Map<String, Integer> slots) {
+        if (slots == null) {
+            return parseVariable(sequence, offset, customs, slots, "");
+        }
+        int initial = offset + 1;
+        int end = initial;
+        while (end < sequence.length() && isNamePart(sequence.charAt(end), end == initial)) {
+            end++;
+        }
+        if (end == initial) {
+            throw new IllegalArgumentException("Expected name at " + initial);
+        }
+        String name = sequence.subSequence(initial, end).toString();
+        return parseVariable(sequence, offset, customs, slots, name).named(name);
+    }
+
+    private static boolean isNamePart(char ch, boolean first) {
+        return first ? Character.isJavaIdentifierStart(ch) : Character.isJavaIdentifierPart(ch);
+    }
+
+    private static FormatVariable parseVariable(CharSequence sequence, int offset,
+                                                Map<String, CustomFmtType> customs,
+                                                Map<String, Integer> slots,
+                                                String name) {
         int index = 0;
         int initial = offset + 1;
         int typeOffset = 0;
-        for (int i = initial; i < sequence.length(); i++) {
+        int start = initial;
+        if (!name.isEmpty()) {
+            index = slot(slots, name);
+            start += name.length();
+        }
+        for (int i = start; i < sequence.length(); i++) {
             char ch = sequence.charAt(i);
-            if (Character.isDigit(ch)) {
+            if (Character.isDigit(ch) && name.isEmpty()) {
                 int digit = ch - '0';
                 index = index * 10 + digit;
             } else if (ch == '}' && i != initial) {
@@ -402,14 +1302,23 @@ public final class FormatExpression extends Formatter implements Iterable<Format
                 throw new IllegalArgumentException("Unexpected char " + ch + " at " + i);
             }
         }
-        FmtType type = detectType(sequence, typeOffset);
-        int next = typeOffset + type.label.length();
+        int next = labelEnd(sequence, typeOffset);
+        String label = Chars.lower(sequence, typeOffset, next);
+        FmtType type = NAMED_FMT_TYPES.get(label);
+        CustomFmtType custom = null;
+        if (type == null) {
+            custom = customs.get(label);
+            if (custom == null) {
+                throw new IllegalArgumentException("Expected format type at " + typeOffset);
+            }
+            type = FmtType.CUSTOM;
+        }
         if (next >= sequence.length()) {
             throw new IllegalArgumentException("Expected character at index " + next);
         }
         char delim = sequence.charAt(next);
         if (delim == '}') {
-            return newVar(sequence, offset, next + 1, index, type);
+            return newVar(sequence, offset, next + 1, index, type, custom);
         }
         if (delim != ',') {
             throw new IllegalArgumentException("Unexpected char " + delim + " at " + next);
@@ -420,12 +1329,26 @@ public final class FormatExpression extends Formatter implements Iterable<Format
         if (style == FmtStyle.SUBFORMAT) {
             subformat = parseSubformat(sequence, next + 1);
             end = next + 1 + subformat.length();
+            if (slots != null && type == FmtType.CHOICE) {
+                subformat = renumber(subformat, customs, slots);
+            }
         } else {
             end = next + 2 + style.label().length();
             checkExhausted(sequence, end);
-            return newVar(sequence, offset, end, index, type, style);
+            return newVar(sequence, offset, end, index, type, custom, style);
         }
-        return newVar(sequence, offset, end + 1, index, type, style, subformat);
+        return newVar(sequence, offset, end + 1, index, type, custom, style, subformat);
+    }
+
+    private static int slot(Map<String, Integer> slots, String name) {
+        return slots.computeIfAbsent(name, k -> slots.size());
+    }
+
+    private static String renumber(String subformat, Map<String, CustomFmtType> customs, Map<String, Integer> slots) {
+        return Choices.rewrite(subformat, text -> {
+            FormatVariable v = parseVariable(text, 0, customs, slots);
+            return source(v, Integer.toString(v.index()), v.subformat());
+        });
     }
 
     private static void checkExhausted(CharSequence sequence, int end) {
@@ -434,25 +1357,24 @@ public final class FormatExpression extends Formatter implements Iterable<Format
         }
     }
 
-    private static final FmtType[] NAMED_FMT_TYPES;
+    private static final Map<String, FmtType> NAMED_FMT_TYPES;
     static {
-        var list = new ArrayList<>(asList(FmtType.values()));
-        list.remove(FmtType.NONE);
-        NAMED_FMT_TYPES = list.toArray(new FmtType[0]);
-        Arrays.sort(NAMED_FMT_TYPES, FormatExpression::longestFirst);
-    }
-
-    private static int longestFirst(FmtType a, FmtType b) {
-        return b.label.length() - a.label.length();
+        var map = new HashMap<String, FmtType>();
+        for (FmtType type : EnumSet.complementOf(EnumSet.of(FmtType.NONE, FmtType.CUSTOM))) {
+            map.put(Chars.lower(type.label, 0, type.label.length()), type);
+        }
+        NAMED_FMT_TYPES = Map.copyOf(map);
     }
 
-    private static FmtType detectType(CharSequence sequence, int offset) {
-        for (FmtType type : NAMED_FMT_TYPES) {
-            if (matches(sequence, offset, type.label)) {
-                return type;
+    private static int labelEnd(CharSequence sequence, int offset) {
+        int i = offset;
+        for (int len = sequence.length(); i < len; i++) {
+            char ch = sequence.charAt(i);
+            if (ch == ',' || ch == '}') {
+                break;
             }
         }
-        throw new IllegalArgumentException("Expected format type at " + offset);
+        return i;
     }
 
     private static FmtStyle detectStyle(FmtType type, CharSequence sequence, int offset) {
@@ -508,25 +1430,31 @@ public final class FormatExpression extends Formatter implements Iterable<Format
     }
 
     private static FormatVariable newVar(CharSequence sequence, int offset, int end, int index) {
-        return newVar(sequence, offset, end, index, FmtType.NONE, FmtStyle.NONE, "");
+        return newVar(sequence, offset, end, index, FmtType.NONE, null, FmtStyle.NONE, "");
     }
 
-    private static FormatVariable newVar(CharSequence sequence, int offset, int end, int index, FmtType type) {
-        return newVar(sequence, offset, end, index, type, FmtStyle.NONE, "");
+    private static FormatVariable newVar(CharSequence sequence, int offset, int end, int index, FmtType type, CustomFmtType custom) {
+        return newVar(sequence, offset, end, index, type, custom, FmtStyle.NONE, "");
     }
 
-    private static FormatVariable newVar(CharSequence sequence, int offset, int end, int index, FmtType type, FmtStyle style) {
-        return newVar(sequence, offset, end, index, type, style, "");
+    private static FormatVariable newVar(CharSequence sequence, int offset, int end, int index, FmtType type, CustomFmtType custom, FmtStyle style) {
+        return newVar(sequence, offset, end, index, type, custom, style, "");
     }
 
-    private static FormatVariable newVar(CharSequence sequence, int offset, int end, int index, FmtType type, FmtStyle style, String subformat) {
+    private static FormatVariable newVar(CharSequence sequence, int offset, int end, int index, FmtType type, CustomFmtType custom, FmtStyle style, String subformat) {
         String raw = sequence.subSequence(offset, end).toString();
-        FormatVariable v = FormatVariable.from(raw, index, type, style, subformat);
+        FormatVariable v = custom == null
+                ? FormatVariable.from(raw, index, type, style, subformat)
+                : FormatVariable.from(raw, index, custom, style, subformat);
         validate(v);
         return v;
     }
 
     private static void validate(FormatVariable v) {
+        if (v.type() == FmtType.CUSTOM) {
+            v.custom().orElseThrow().validate(v.subformat());
+            return;
+        }
         if (v.style() != FmtStyle.SUBFORMAT) {
             return;
         }
@@ -605,14 +1533,14 @@ public final class FormatExpression extends Formatter implements Iterable<Format
                                                        BiPredicate<FormatVariable, FormatVariable> compatible) {
         boolean found = false;
         for (var f : ref) {
-            if (f instanceof FormatVariable v && v.index() == candidate.index()) {
+            if (f instanceof FormatVariable v && FormatVariable.sameArgument(v, candidate)) {
                 results = findMismatches(results, v, candidate, compatible);
                 found = true;
             }
         }
         if (!found) {
             results = mutable(results);
-            results.add(new Incompatibility(candidate.index(), Problem.NONEXISTENT));
+            results.add(new Incompatibility(candidate.index(), candidate.name(), Problem.NONEXISTENT));
         }
         return results;
     }
@@ -622,7 +1550,7 @@ public final class FormatExpression extends Formatter implements Iterable<Format
                                                        BiPredicate<FormatVariable, FormatVariable> compatible) {
         if (!compatible.test(ref, candidate)) {
             results = mutable(results);
-            results.add(new Incompatibility(ref.index(), Problem.MISMATCH));
+            results.add(new Incompatibility(ref.index(), ref.name(), Problem.MISMATCH));
         }
         return results;
     }
@@ -630,12 +1558,12 @@ public final class FormatExpression extends Formatter implements Iterable<Format
     private static Set<Incompatibility> findMissing(Set<Incompatibility> results, FormatVariable ref,
                                                     FormatExpression candidate) {
         for (var f : candidate) {
-            if (f instanceof FormatVariable v && v.index() == ref.index()) {
+            if (f instanceof FormatVariable v && FormatVariable.sameArgument(v, ref)) {
                 return results;
             }
         }
         results = mutable(results);
-        results.add(new Incompatibility(ref.index(), Problem.MISSING));
+        results.add(new Incompatibility(ref.index(), ref.name(), Problem.MISSING));
         return results;
     }
 
@@ -666,10 +1594,12 @@ public final class FormatExpression extends Formatter implements Iterable<Format
      */
     public static final class Incompatibility {
         private final int index;
+        private final String name;
         private final Problem problem;
 
-        Incompatibility(int index, Problem problem) {
+        Incompatibility(int index, String name, Problem problem) {
             this.index = index;
+            this.name = name;
             this.problem = problem;
         }
 
@@ -682,6 +1612,18 @@ public final class FormatExpression extends Formatter implements Iterable<Format
             return index;
         }
 
+        /**
+         * Associated variable name.
+         *
+         * @return name or empty string for indexed variables
+         * @see FormatVariable#name()
+         *
+         * @since 17.4.0
+         */
+        public String name() {
+            return name;
+        }
+
         /**
          * Nature of the problem.
          *
@@ -698,10 +1640,11 @@ public final class FormatExpression extends Formatter implements Iterable<Format
          */
         @Override
         public String toString() {
+            String id = name.isEmpty() ? Integer.toString(index) : name;
             return switch (problem) {
-                case MISMATCH -> "variable {" + index + "} has compatibility issues";
-                case MISSING -> "variable {" + index + "} missing";
-                case NONEXISTENT -> "variable {" + index + "} does not exist";
+                case MISMATCH -> "variable {" + id + "} has compatibility issues";
+                case MISSING -> "variable {" + id + "} missing";
+                case NONEXISTENT -> "variable {" + id + "} does not exist";
             };
         }
     }
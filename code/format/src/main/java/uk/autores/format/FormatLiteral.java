@@ -17,6 +17,8 @@ public final class FormatLiteral extends Formatter {
 
     private final String raw;
     private final String processed;
+    // by Escape ordinal; populated on demand
+    private volatile String[] escaped;
 
     private FormatLiteral(String raw, String processed) {
         this.raw = raw;
@@ -32,6 +34,35 @@ public final class FormatLiteral extends Formatter {
         return new FormatLiteral(raw, processed);
     }
 
+    static FormatLiteral of(String processed) {
+        return from(escape(processed), processed);
+    }
+
+    private static String escape(String processed) {
+        var raw = new StringBuilder(processed.length() + 2);
+        boolean quoted = false;
+        for (int i = 0; i < processed.length(); i++) {
+            char ch = processed.charAt(i);
+            boolean brace = ch == '{' || ch == '}';
+            // quoted sections absorb quotes so a closing quote is never followed by another
+            if (brace && !quoted) {
+                raw.append('\'');
+                quoted = true;
+            } else if (quoted && !brace && ch != '\'') {
+                raw.append('\'');
+                quoted = false;
+            }
+            raw.append(ch);
+            if (ch == '\'') {
+                raw.append('\'');
+            }
+        }
+        if (quoted) {
+            raw.append('\'');
+        }
+        return raw.toString();
+    }
+
     /**
      * <p>
      *     Appends the {@link #processed()} literal to the buffer.
@@ -51,6 +82,21 @@ public final class FormatLiteral extends Formatter {
         return raw;
     }
 
+    String escaped(Escape escape) {
+        String[] cache = escaped;
+        if (cache == null) {
+            cache = new String[Escape.values().length];
+            escaped = cache;
+        }
+        String s = cache[escape.ordinal()];
+        if (s == null) {
+            // benign race; strings are immutable
+            s = escape.escape(processed);
+            cache[escape.ordinal()] = s;
+        }
+        return s;
+    }
+
     /**
      * Processes escape sequences.
      *
@@ -0,0 +1,254 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ *     Extracts arguments from text produced by a {@link FormatExpression}.
+ * </p>
+ * <p>
+ *     The literal text between variables is used as anchors.
+ *     Each variable matches the shortest run of text up to the next occurrence of the following anchor;
+ *     a trailing variable matches to the end of the text
+ *     and a variable followed by a trailing anchor matches up to that suffix.
+ *     There is no backtracking so matching is linear in the length of the text.
+ *     Values that contain their following anchor are not recovered.
+ * </p>
+ * <pre><code>
+ *   var matcher = FormatExpression.parse("{0} bought {1,number,integer} items").matcher();
+ *   Object[] args = matcher.parse(Locale.ENGLISH, "Ann bought 1,200 items");
+ *   // args: {"Ann", 1200L}
+ * </code></pre>
+ * <p>
+ *     Instances are immutable &amp; thread safe.
+ * </p>
+ *
+ * @see FormatExpression#matcher()
+ * @since 17.4.0
+ */
+public final class FormatMatcher {
+    private final FormatExpression expression;
+    // alternating; a null anchor marks a variable slot
+    private final Anchor[] anchors;
+    private final FormatVariable[] variables;
+    private final int spanLength;
+
+    private FormatMatcher(FormatExpression expression, Anchor[] anchors, FormatVariable[] variables, int count) {
+        this.expression = expression;
+        this.anchors = anchors;
+        this.variables = variables;
+        this.spanLength = 2 * count;
+    }
+
+    static FormatMatcher of(FormatExpression expression) {
+        int size = expression.size();
+        var anchors = new Anchor[size];
+        var variables = new FormatVariable[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            Formatter f = expression.get(i);
+            if (f instanceof FormatVariable v) {
+                if (i > 0 && variables[i - 1] != null) {
+                    throw new IllegalArgumentException("Adjacent variables cannot be matched: "
+                            + variables[i - 1] + v);
+                }
+                variables[i] = v;
+                count++;
+            } else {
+                anchors[i] = new Anchor(((FormatLiteral) f).processed());
+            }
+        }
+        return new FormatMatcher(expression, anchors, variables, count);
+    }
+
+    /**
+     * The source expression.
+     *
+     * @return the expression
+     */
+    public FormatExpression expression() {
+        return expression;
+    }
+
+    /**
+     * Tests if the text matches the expression.
+     *
+     * @param text candidate
+     * @return true on match
+     */
+    public boolean matches(CharSequence text) {
+        return matches(text, new int[spanLength]);
+    }
+
+    /**
+     * <p>
+     *     Matches the text and records the start and end of each variable.
+     *     The span layout is as {@link FormatExpression#formatSpans(Locale, StringBuffer, int[], Object...)}.
+     * </p>
+     *
+     * @param text  candidate
+     * @param spans receives start &amp; end offsets; at least twice the number of variables in length
+     * @return true on match; the span contents are undefined otherwise
+     * @throws IllegalArgumentException if the span array is too short
+     */
+    public boolean matches(CharSequence text, int[] spans) {
+        requireNonNull(text, "CharSequence cannot be null");
+        requireNonNull(spans, "int array cannot be null");
+        if (spans.length < spanLength) {
+            throw new IllegalArgumentException("Span array requires " + spanLength + " elements; got " + spans.length);
+        }
+        int len = text.length();
+        int pos = 0;
+        int n = 0;
+        int last = anchors.length - 1;
+        for (int i = 0; i <= last; i++) {
+            Anchor anchor = anchors[i];
+            if (anchor != null) {
+                if (!anchor.at(text, pos)) {
+                    return false;
+                }
+                pos += anchor.text.length();
+                continue;
+            }
+            int end;
+            if (i == last) {
+                end = len;
+            } else if (i + 1 == last) {
+                end = len - anchors[i + 1].text.length();
+                if (end < pos) {
+                    return false;
+                }
+            } else {
+                end = anchors[i + 1].find(text, pos);
+                if (end < 0) {
+                    return false;
+                }
+            }
+            spans[n++] = pos;
+            spans[n++] = end;
+            pos = end;
+        }
+        return pos == len;
+    }
+
+    /**
+     * <p>
+     *     Matches the text and converts the variable values to arguments.
+     * </p>
+     * <p>
+     *     <code>number</code> variables are parsed with the locale's {@link java.text.NumberFormat}
+     *     and ISO variables with their {@link DateTimeFormatter} into the matching {@link java.time} type.
+     *     Other values are returned as strings.
+     *     Where an index is used more than once the first occurrence is used.
+     *     Unused indices are null.
+     * </p>
+     *
+     * @param l    the locale
+     * @param text candidate
+     * @return arguments of length {@link FormatExpression#argCount()}
+     *         or null if the text does not match or a value cannot be converted
+     */
+    public Object[] parse(Locale l, CharSequence text) {
+        requireNonNull(l, "Locale cannot be null");
+        var spans = new int[spanLength];
+        if (!matches(text, spans)) {
+            return null;
+        }
+        var args = new Object[expression.argCount()];
+        var seen = new boolean[args.length];
+        int n = 0;
+        for (FormatVariable v : variables) {
+            if (v == null) {
+                continue;
+            }
+            String value = text.subSequence(spans[n], spans[n + 1]).toString();
+            n += 2;
+            if (seen[v.index()]) {
+                continue;
+            }
+            Object arg = convert(l, v, value);
+            if (arg == null) {
+                return null;
+            }
+            args[v.index()] = arg;
+            seen[v.index()] = true;
+        }
+        return args;
+    }
+
+    private static Object convert(Locale l, FormatVariable v, String value) {
+        try {
+            return switch (v.type()) {
+                case NUMBER -> Numbers.parse(l, v, value);
+                case ISO_LOCAL_DATE -> LocalDate.parse(value);
+                case BASIC_ISO_DATE -> LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE);
+                case ISO_LOCAL_TIME -> LocalTime.parse(value);
+                case ISO_OFFSET_TIME -> OffsetTime.parse(value);
+                case ISO_LOCAL_DATE_TIME -> LocalDateTime.parse(value);
+                case ISO_OFFSET_DATE_TIME -> OffsetDateTime.parse(value);
+                case ISO_ZONED_DATE_TIME, ISO_DATE_TIME -> ZonedDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME);
+                case ISO_INSTANT -> Instant.parse(value);
+                case RFC_1123_DATE_TIME -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                default -> value;
+            };
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Literal text located with Knuth-Morris-Pratt. */
+    private static final class Anchor {
+        private final String text;
+        private final int[] failure;
+
+        private Anchor(String text) {
+            this.text = text;
+            this.failure = new int[text.length()];
+            for (int i = 1, k = 0; i < text.length(); i++) {
+                while (k > 0 && text.charAt(i) != text.charAt(k)) {
+                    k = failure[k - 1];
+                }
+                if (text.charAt(i) == text.charAt(k)) {
+                    k++;
+                }
+                failure[i] = k;
+            }
+        }
+
+        boolean at(CharSequence seq, int offset) {
+            if (seq.length() - offset < text.length()) {
+                return false;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                if (seq.charAt(offset + i) != text.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int find(CharSequence seq, int from) {
+            int k = 0;
+            for (int i = from; i < seq.length(); i++) {
+                char ch = seq.charAt(i);
+                while (k > 0 && ch != text.charAt(k)) {
+                    k = failure[k - 1];
+                }
+                if (ch == text.charAt(k)) {
+                    k++;
+                }
+                if (k == text.length()) {
+                    return i - k + 1;
+                }
+            }
+            return -1;
+        }
+    }
+}
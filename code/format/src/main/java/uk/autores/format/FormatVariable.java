@@ -2,40 +2,59 @@
 // SPDX-License-Identifier: Apache-2.0
 package uk.autores.format;
 
+import java.time.temporal.TemporalUnit;
+import java.util.Date;
+import java.util.List;
 import java.util.Locale;
-import java.util.stream.IntStream;
+import java.util.Optional;
 
 /**
  * Represents indexed variable expression like <code>{1,number,currency}</code>.
  */
 public final class FormatVariable extends Formatter {
-    private static final FormatVariable[] INTERNED = IntStream.range(0, 5)
-            .mapToObj(FormatVariable::intern)
-            .toArray(FormatVariable[]::new);
-
     private final String raw;
     private final int index;
     private final FmtType type;
     private final FmtStyle style;
     private final String subformat;
+    private final CustomFmtType custom;
+    private final String name;
+    private final Memo memo;
+    // inline cache state for Any; the cached writer depends only on the argument class, not the locale,
+    // and races only lose cache hits so instances may be shared between expressions (see Shape.share)
+    private Object site;
 
-    private FormatVariable(String raw, int index, FmtType type, FmtStyle style, String subformat) {
+    private FormatVariable(String raw, int index, FmtType type, FmtStyle style, String subformat,
+                           CustomFmtType custom, String name, Memo memo) {
         this.raw = raw;
         this.index = index;
         this.type = type;
         this.style = style;
         this.subformat = subformat;
+        this.custom = custom;
+        this.name = name;
+        this.memo = memo;
     }
 
-    private static FormatVariable intern(int index) {
-        return new FormatVariable("{" + index + "}", index, FmtType.NONE, FmtStyle.NONE, "");
+    static FormatVariable from(String raw, int index, FmtType type, FmtStyle style, String subformat) {
+        // not interned; untyped variables carry per-instance inline cache state
+        return new FormatVariable(raw, index, type, style, subformat, null, "", null);
     }
 
-    static FormatVariable from(String raw, int index, FmtType type, FmtStyle style, String subformat) {
-        if (type == FmtType.NONE && index < INTERNED.length) {
-            return INTERNED[index];
-        }
-        return new FormatVariable(raw, index, type, style, subformat);
+    static FormatVariable from(String raw, int index, CustomFmtType custom, FmtStyle style, String subformat) {
+        return new FormatVariable(raw, index, FmtType.CUSTOM, style, subformat, custom, "", null);
+    }
+
+    FormatVariable named(String name) {
+        return new FormatVariable(raw, index, type, style, subformat, custom, name, memo);
+    }
+
+    FormatVariable reindex(String raw, int index, String subformat) {
+        return new FormatVariable(raw, index, type, style, subformat, custom, name, memo);
+    }
+
+    FormatVariable memoize(TemporalUnit unit) {
+        return new FormatVariable(raw, index, type, style, subformat, custom, name, Memo.of(unit));
     }
 
     /**
@@ -47,6 +66,19 @@ public final class FormatVariable extends Formatter {
         return index;
     }
 
+    /**
+     * The argument name for variables like <code>{count,number}</code>.
+     * Populated when parsed with {@link FormatExpression#parseNamed(CharSequence)}.
+     * The {@link #index()} is the slot assigned to the name.
+     *
+     * @return name or empty string
+     *
+     * @since 17.4.0
+     */
+    public String name() {
+        return name;
+    }
+
     /**
      * The format type like "number", "dtf_datetime", etc.
      * {@link FmtType#NONE} if no type specified in expression.
@@ -78,6 +110,39 @@ public final class FormatVariable extends Formatter {
         return subformat;
     }
 
+    /**
+     * The provider for {@link FmtType#CUSTOM} variables.
+     *
+     * @return the custom type or empty
+     *
+     * @since 17.4.0
+     */
+    public Optional<CustomFmtType> custom() {
+        return Optional.ofNullable(custom);
+    }
+
+    boolean sameShape(FormatVariable other) {
+        return this == other
+                || (index == other.index
+                && raw.equals(other.raw)
+                && name.equals(other.name)
+                && subformat.equals(other.subformat)
+                && custom == other.custom
+                && memo == other.memo);
+    }
+
+    Object site() {
+        return site;
+    }
+
+    void site(Object site) {
+        this.site = site;
+    }
+
+    Class<?> argType() {
+        return custom == null ? type.argType : custom.argType();
+    }
+
     /**
      * <p>
      *     Formats the variable and appends it to the buffer.
@@ -89,10 +154,22 @@ public final class FormatVariable extends Formatter {
      * @param l    the locale
      * @param buf  the target buffer
      * @param args array of arguments containing elements for any indices evaluated
+     * @throws NullPointerException if the argument cannot be null and is
+     * @throws IllegalArgumentException if the argument is of the wrong type
      */
     @Override
     public void formatTo(Locale l, StringBuffer buf,  Object... args) {
-        type.formatter.format(l, this, buf, args);
+        check(args[index]);
+        render(l, buf, args);
+    }
+
+    @Override
+    void render(Locale l, StringBuffer buf, Object[] args) {
+        if (memo == null) {
+            type.formatter.format(l, this, buf, args);
+        } else {
+            memo.format(l, this, buf, args);
+        }
     }
 
     @Override
@@ -103,7 +180,8 @@ public final class FormatVariable extends Formatter {
     /**
      * Lax test for compatibility.
      * Variables are considered compatible if their {@link FmtType#argType()}s
-     * are the same or one is {@link Object}.
+     * (or {@link CustomFmtType#argType()}s) are the same or one is {@link Object}.
+     * Named variables must have the same {@link #name()}; others the same {@link #index()}.
      *
      * @param reference variable to check against
      * @param candidate possible source of incompatibilities
@@ -112,14 +190,12 @@ public final class FormatVariable extends Formatter {
      * @since 17.2.0
      */
     public static boolean laxMatch(FormatVariable reference, FormatVariable candidate) {
-        if (reference.index != candidate.index()) {
-            throw new IllegalArgumentException("Index mismatch: " + reference + " != " + candidate);
-        }
-        Class<?> r = reference.type().argType();
+        requireSameArgument(reference, candidate);
+        Class<?> r = reference.argType();
         if (r == Object.class) {
             return true;
         }
-        Class<?> c = candidate.type().argType();
+        Class<?> c = candidate.argType();
         return c == Object.class
                 || c == r;
     }
@@ -127,7 +203,8 @@ public final class FormatVariable extends Formatter {
     /**
      * Strict test for compatibility.
      * Variables are considered compatible only if their {@link FormatVariable#type()}s
-     * are the same.
+     * (and {@link FormatVariable#custom()} types) are the same.
+     * Named variables must have the same {@link #name()}; others the same {@link #index()}.
      *
      * @param reference variable to check against
      * @param candidate possible source of incompatibilities
@@ -136,10 +213,21 @@ public final class FormatVariable extends Formatter {
      * @since 17.2.0
      */
     public static boolean strictMatch(FormatVariable reference, FormatVariable candidate) {
-        if (reference.index != candidate.index()) {
+        requireSameArgument(reference, candidate);
+        return reference.type() == candidate.type()
+                && reference.custom == candidate.custom;
+    }
+
+    private static void requireSameArgument(FormatVariable reference, FormatVariable candidate) {
+        if (!sameArgument(reference, candidate)) {
             throw new IllegalArgumentException("Index mismatch: " + reference + " != " + candidate);
         }
-        return reference.type() == candidate.type();
+    }
+
+    static boolean sameArgument(FormatVariable a, FormatVariable b) {
+        return (a.name.isEmpty() && b.name.isEmpty())
+                ? a.index == b.index
+                : a.name.equals(b.name);
     }
 
     void requireNonNull(Object arg) {
@@ -148,4 +236,36 @@ public final class FormatVariable extends Formatter {
             throw new NullPointerException(msg);
         }
     }
+
+    /**
+     * The single argument validator; formatters for each type assume it has passed.
+     *
+     * @param arg the argument
+     */
+    void check(Object arg) {
+        if (type == FmtType.NONE) {
+            return;
+        }
+        requireNonNull(arg);
+        Class<?> t = argType();
+        if (t.isInstance(arg)
+                || (arg instanceof Date && (type == FmtType.DATE || type == FmtType.TIME))
+                || (t == List.class && arg instanceof Object[])) {
+            return;
+        }
+        var msg = raw + " requires " + t.getName() + "; got " + arg.getClass().getName();
+        throw new IllegalArgumentException(msg);
+    }
+
+    /**
+     * Whether both variables check the same argument in the same way.
+     *
+     * @param other another variable
+     * @return true if {@link #check(Object)} applies the same rules to the same argument
+     */
+    boolean sameCheck(FormatVariable other) {
+        return index == other.index
+                && type == other.type
+                && custom == other.custom;
+    }
 }
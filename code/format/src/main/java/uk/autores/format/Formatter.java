@@ -8,7 +8,7 @@ import java.util.Locale;
  * Base format expression type.
  * Implementations are equal if their {@link #toString()} values are equal.
  */
-public sealed abstract class Formatter permits FormatVariable, FormatExpression, FormatLiteral {
+public sealed abstract class Formatter permits FormatVariable, FormatExpression, FormatLiteral, LazyExpression {
     Formatter() {}
 
     /**
@@ -20,6 +20,17 @@ public sealed abstract class Formatter permits FormatVariable, FormatExpression,
      */
     public abstract void formatTo(Locale l, StringBuffer buf, Object... args);
 
+    /**
+     * As {@link #formatTo(Locale, StringBuffer, Object...)} for arguments that have already been checked.
+     *
+     * @param l    the locale
+     * @param buf  the target buffer
+     * @param args checked arguments
+     */
+    void render(Locale l, StringBuffer buf, Object[] args) {
+        formatTo(l, buf, args);
+    }
+
     /**
      * Formats the expression.
      *
@@ -0,0 +1,129 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * <p>
+ *     Shared cache of the locale-specific {@link java.text.Format} and
+ *     {@link java.time.format.DateTimeFormatter} instances used to format variables.
+ * </p>
+ * <p>
+ *     Entries are keyed on locale, {@link FmtType}, {@link FmtStyle} and {@link FormatVariable#subformat()}.
+ *     Lookups do not lock.
+ *     The cache holds at most {@link #capacity()} entries;
+ *     entries that have not been read since the last eviction pass are discarded first.
+ *     Mutable formats are cached as prototypes and copied before use.
+ * </p>
+ * <p>
+ *     This type exposes statistics only.
+ * </p>
+ *
+ * @since 17.4.0
+ */
+public final class FormatterCache {
+    private static final int CAPACITY = 2048;
+    private static final Map<Key, Entry> CACHE = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final Object LOCK = new Object();
+    // clock hand; resumes where the last eviction stopped; guarded by LOCK
+    private static Iterator<Entry> hand;
+
+    private FormatterCache() {}
+
+    /**
+     * Count of lookups satisfied by the cache.
+     *
+     * @return hit count since class initialization
+     */
+    public static long hits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Count of lookups that created a new instance.
+     *
+     * @return miss count since class initialization
+     */
+    public static long misses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Current entry count.
+     *
+     * @return number of cached instances
+     */
+    public static int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * Maximum entry count.
+     *
+     * @return the bound
+     */
+    public static int capacity() {
+        return CAPACITY;
+    }
+
+    static <T> T get(Class<T> kind, Locale l, FormatVariable v, BiFunction<Locale, FormatVariable, ? extends T> factory) {
+        var key = new Key(kind, l, v.type(), v.style(), v.subformat());
+        Entry e = CACHE.get(key);
+        if (e != null) {
+            HITS.increment();
+            if (!e.used) {
+                e.used = true;
+            }
+            return kind.cast(e.value);
+        }
+        MISSES.increment();
+        T value = factory.apply(l, v);
+        if (CACHE.size() >= CAPACITY) {
+            evict();
+        }
+        e = CACHE.putIfAbsent(key, new Entry(value));
+        return e == null ? value : kind.cast(e.value);
+    }
+
+    private static void evict() {
+        synchronized (LOCK) {
+            // second chance: a full revolution may only clear flags
+            int limit = 2 * CACHE.size() + 1;
+            for (int i = 0; i < limit; i++) {
+                if (hand == null || !hand.hasNext()) {
+                    hand = CACHE.values().iterator();
+                    if (!hand.hasNext()) {
+                        return;
+                    }
+                }
+                Entry e = hand.next();
+                if (e.used) {
+                    e.used = false;
+                } else {
+                    hand.remove();
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Key(Class<?> kind, Locale l, FmtType type, FmtStyle style, String subformat) {}
+
+    private static final class Entry {
+        private final Object value;
+        // benign race; only informs eviction
+        private boolean used;
+
+        private Entry(Object value) {
+            this.value = value;
+        }
+    }
+}
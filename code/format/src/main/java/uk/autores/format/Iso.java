@@ -0,0 +1,267 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.time.*;
+
+/*
+ * Fixed layout writers for the common java.time types under the ISO & RFC formatters.
+ * Returns false where DateTimeFormatter should be used instead;
+ * including to raise the same errors for unsupported fields.
+ */
+final class Iso {
+    private static final long MIN_INSTANT = -62167219200L; // 0000-01-01T00:00:00Z
+    private static final long MAX_INSTANT = 253402300799L; // 9999-12-31T23:59:59Z
+    private static final String[] DAYS = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final String[] MONTHS = {
+            "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec",
+    };
+
+    private Iso() {}
+
+    static boolean format(FmtType type, Object arg, StringBuffer buf) {
+        // writers return false before appending anything
+        boolean written = switch (type) {
+            case ISO_LOCAL_DATE -> localDate(date(arg), buf);
+            case ISO_LOCAL_TIME -> localTime(time(arg), buf);
+            case ISO_LOCAL_DATE_TIME -> localDateTime(dateTime(arg), buf);
+            case ISO_OFFSET_DATE_TIME, ISO_ZONED_DATE_TIME -> offsetDateTime(dateTime(arg), offset(arg), buf);
+            case ISO_DATE_TIME -> dateTime(arg, buf);
+            case ISO_INSTANT -> instant(arg, buf);
+            case BASIC_ISO_DATE -> basicDate(date(arg), offset(arg), buf);
+            case RFC_1123_DATE_TIME -> rfc1123(dateTime(arg), offset(arg), buf);
+            default -> false;
+        };
+        if (!written) {
+            return false;
+        }
+        if (type == FmtType.ISO_ZONED_DATE_TIME || type == FmtType.ISO_DATE_TIME) {
+            region(arg, buf);
+        }
+        return true;
+    }
+
+    private static LocalDate date(Object arg) {
+        if (arg instanceof LocalDate d) {
+            return d;
+        }
+        LocalDateTime ldt = dateTime(arg);
+        return ldt == null ? null : ldt.toLocalDate();
+    }
+
+    private static LocalTime time(Object arg) {
+        if (arg instanceof LocalTime t) {
+            return t;
+        }
+        LocalDateTime ldt = dateTime(arg);
+        return ldt == null ? null : ldt.toLocalTime();
+    }
+
+    private static LocalDateTime dateTime(Object arg) {
+        if (arg instanceof LocalDateTime ldt) {
+            return ldt;
+        } else if (arg instanceof OffsetDateTime odt) {
+            return odt.toLocalDateTime();
+        } else if (arg instanceof ZonedDateTime zdt) {
+            return zdt.toLocalDateTime();
+        }
+        return null;
+    }
+
+    private static ZoneOffset offset(Object arg) {
+        if (arg instanceof OffsetDateTime odt) {
+            return odt.getOffset();
+        } else if (arg instanceof ZonedDateTime zdt) {
+            return zdt.getOffset();
+        }
+        return null;
+    }
+
+    private static void region(Object arg, StringBuffer buf) {
+        if (arg instanceof ZonedDateTime zdt && !(zdt.getZone() instanceof ZoneOffset)) {
+            buf.append('[').append(zdt.getZone().getId()).append(']');
+        }
+    }
+
+    private static boolean localDate(LocalDate d, StringBuffer buf) {
+        if (d == null) {
+            return false;
+        }
+        int year = d.getYear();
+        if (year > 9999) {
+            buf.append('+');
+        } else if (year < 0) {
+            buf.append('-');
+        }
+        digits(Math.abs(year), 4, buf);
+        buf.append('-');
+        digits(d.getMonthValue(), 2, buf);
+        buf.append('-');
+        digits(d.getDayOfMonth(), 2, buf);
+        return true;
+    }
+
+    private static boolean localTime(LocalTime t, StringBuffer buf) {
+        if (t == null) {
+            return false;
+        }
+        digits(t.getHour(), 2, buf);
+        buf.append(':');
+        digits(t.getMinute(), 2, buf);
+        buf.append(':');
+        digits(t.getSecond(), 2, buf);
+        int nano = t.getNano();
+        if (nano == 0) {
+            return true;
+        }
+        int width = 9;
+        while (nano % 10 == 0) {
+            nano /= 10;
+            width--;
+        }
+        buf.append('.');
+        digits(nano, width, buf);
+        return true;
+    }
+
+    private static boolean localDateTime(LocalDateTime ldt, StringBuffer buf) {
+        if (ldt == null) {
+            return false;
+        }
+        localDate(ldt.toLocalDate(), buf);
+        buf.append('T');
+        return localTime(ldt.toLocalTime(), buf);
+    }
+
+    private static boolean offsetDateTime(LocalDateTime ldt, ZoneOffset offset, StringBuffer buf) {
+        if (ldt == null || offset == null) {
+            return false;
+        }
+        localDateTime(ldt, buf);
+        buf.append(offset.getId());
+        return true;
+    }
+
+    private static boolean dateTime(Object arg, StringBuffer buf) {
+        if (!localDateTime(dateTime(arg), buf)) {
+            return false;
+        }
+        ZoneOffset offset = offset(arg);
+        if (offset != null) {
+            buf.append(offset.getId());
+        }
+        return true;
+    }
+
+    private static boolean instant(Object arg, StringBuffer buf) {
+        long seconds;
+        int nano;
+        if (arg instanceof Instant instant) {
+            seconds = instant.getEpochSecond();
+            nano = instant.getNano();
+        } else if (arg instanceof OffsetDateTime odt) {
+            seconds = odt.toEpochSecond();
+            nano = odt.getNano();
+        } else if (arg instanceof ZonedDateTime zdt) {
+            seconds = zdt.toEpochSecond();
+            nano = zdt.getNano();
+        } else {
+            return false;
+        }
+        if (seconds < MIN_INSTANT || seconds > MAX_INSTANT) {
+            return false;
+        }
+        long days = Math.floorDiv(seconds, 86400);
+        int secondOfDay = Math.floorMod(seconds, 86400);
+        localDate(LocalDate.ofEpochDay(days), buf);
+        buf.append('T');
+        digits(secondOfDay / 3600, 2, buf);
+        buf.append(':');
+        digits((secondOfDay / 60) % 60, 2, buf);
+        buf.append(':');
+        digits(secondOfDay % 60, 2, buf);
+        if (nano > 0) {
+            buf.append('.');
+            if (nano % 1000_000 == 0) {
+                digits(nano / 1000_000, 3, buf);
+            } else if (nano % 1000 == 0) {
+                digits(nano / 1000, 6, buf);
+            } else {
+                digits(nano, 9, buf);
+            }
+        }
+        buf.append('Z');
+        return true;
+    }
+
+    private static boolean basicDate(LocalDate d, ZoneOffset offset, StringBuffer buf) {
+        if (d == null || d.getYear() < 0 || d.getYear() > 9999) {
+            return false;
+        }
+        digits(d.getYear(), 4, buf);
+        digits(d.getMonthValue(), 2, buf);
+        digits(d.getDayOfMonth(), 2, buf);
+        if (offset == null) {
+            return true;
+        }
+        int total = offset.getTotalSeconds();
+        if (total == 0) {
+            buf.append('Z');
+            return true;
+        }
+        buf.append(total < 0 ? '-' : '+');
+        int abs = Math.abs(total);
+        digits(abs / 3600, 2, buf);
+        digits((abs / 60) % 60, 2, buf);
+        if (abs % 60 != 0) {
+            digits(abs % 60, 2, buf);
+        }
+        return true;
+    }
+
+    private static boolean rfc1123(LocalDateTime ldt, ZoneOffset offset, StringBuffer buf) {
+        if (ldt == null || offset == null
+                || ldt.getYear() < 0 || ldt.getYear() > 9999
+                || offset.getTotalSeconds() % 60 != 0) {
+            return false;
+        }
+        buf.append(DAYS[ldt.getDayOfWeek().ordinal()]).append(", ");
+        int day = ldt.getDayOfMonth();
+        digits(day, day < 10 ? 1 : 2, buf);
+        buf.append(' ').append(MONTHS[ldt.getMonthValue() - 1]).append(' ');
+        digits(ldt.getYear(), 4, buf);
+        buf.append(' ');
+        digits(ldt.getHour(), 2, buf);
+        buf.append(':');
+        digits(ldt.getMinute(), 2, buf);
+        buf.append(':');
+        digits(ldt.getSecond(), 2, buf);
+        buf.append(' ');
+        int total = offset.getTotalSeconds();
+        if (total == 0) {
+            buf.append("GMT");
+            return true;
+        }
+        buf.append(total < 0 ? '-' : '+');
+        int abs = Math.abs(total);
+        digits(abs / 3600, 2, buf);
+        digits((abs / 60) % 60, 2, buf);
+        return true;
+    }
+
+    private static void digits(int value, int width, StringBuffer buf) {
+        for (int len = length(value); len < width; len++) {
+            buf.append('0');
+        }
+        buf.append(value);
+    }
+
+    private static int length(int value) {
+        int len = 1;
+        while (value >= 10) {
+            value /= 10;
+            len++;
+        }
+        return len;
+    }
+}
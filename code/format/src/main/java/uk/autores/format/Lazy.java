@@ -0,0 +1,105 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ *     An argument that is computed when a variable first needs it.
+ * </p>
+ * <p>
+ *     {@link FormatExpression} replaces instances with their values before formatting.
+ *     Values only used in unselected <code>choice</code> branches are never computed.
+ *     Other {@link Supplier}s are ordinary arguments and are formatted like any other object.
+ * </p>
+ * <pre><code>
+ *   var expr = FormatExpression.parse("{0,choice,0#No changes|0&lt;{0} changes: {1}}");
+ *   String s = expr.format(l, count, Lazy.of(() -&gt; describe(changes)));
+ * </code></pre>
+ * <p>
+ *     The supplier is called at most once; the value is retained.
+ *     Instances are thread safe if the supplier is.
+ * </p>
+ *
+ * @param <T> value type
+ * @see FormatExpression#required(Object...)
+ * @since 17.4.0
+ */
+public final class Lazy<T> implements Supplier<T> {
+    private static final Object UNSET = new Object();
+
+    private final Supplier<? extends T> supplier;
+    private volatile Object value = UNSET;
+
+    private Lazy(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Wraps a supplier.
+     *
+     * @param supplier computes the argument; may return null
+     * @param <T> value type
+     * @return new instance
+     */
+    public static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+        requireNonNull(supplier, "Supplier cannot be null");
+        return new Lazy<>(supplier);
+    }
+
+    /**
+     * The value; computed on first call.
+     *
+     * @return the supplier's result
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object v = value;
+        if (v == UNSET) {
+            synchronized (this) {
+                v = value;
+                if (v == UNSET) {
+                    v = supplier.get();
+                    value = v;
+                }
+            }
+        }
+        return (T) v;
+    }
+
+    /**
+     * Replaces a lazy argument with its value.
+     * The caller's array is copied before the first replacement.
+     *
+     * @param args     current arguments; the caller's array or a copy
+     * @param original the caller's array
+     * @param index    the element
+     * @return args or a copy with the element resolved
+     */
+    static Object[] resolve(Object[] args, Object[] original, int index) {
+        if (args[index] instanceof Lazy<?> lazy) {
+            Object[] a = args == original ? original.clone() : args;
+            a[index] = lazy.get();
+            return a;
+        }
+        return args;
+    }
+
+    static Object unwrap(Object arg) {
+        return arg instanceof Lazy<?> lazy ? lazy.get() : arg;
+    }
+
+    /**
+     * The string form of the value.
+     *
+     * @return the value as a string; computes the value if necessary
+     */
+    @Override
+    public String toString() {
+        return String.valueOf(get());
+    }
+}
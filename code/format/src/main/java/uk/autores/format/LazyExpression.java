@@ -0,0 +1,140 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.function.BiPredicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ *     A {@link FormatExpression} that is parsed on first use.
+ * </p>
+ * <p>
+ *     Only the raw pattern is retained until the expression is formatted or inspected.
+ *     Malformed patterns throw {@link IllegalArgumentException} on first use rather than on creation.
+ *     Call {@link #expression()} to force parsing and validation ahead of time.
+ * </p>
+ * <p>
+ *     Instances are thread safe.
+ *     Concurrent first callers may each parse the pattern but will observe equal expressions.
+ * </p>
+ *
+ * @since 17.4.0
+ */
+public final class LazyExpression extends Formatter implements Iterable<Formatter> {
+    private final String pattern;
+    private final BiPredicate<FormatVariable, FormatVariable> compatibility;
+    private volatile FormatExpression parsed;
+
+    private LazyExpression(String pattern, BiPredicate<FormatVariable, FormatVariable> compatibility) {
+        this.pattern = pattern;
+        this.compatibility = compatibility;
+    }
+
+    /**
+     * As {@link FormatExpression#parse(CharSequence)} but deferred.
+     *
+     * @param pattern source text
+     * @return unparsed expression
+     */
+    public static LazyExpression of(CharSequence pattern) {
+        return of(pattern, FormatExpression.DEFAULT_MATCHER);
+    }
+
+    /**
+     * As {@link FormatExpression#parse(CharSequence, BiPredicate)} but deferred.
+     *
+     * @param pattern source text
+     * @param compatibility compatibility check
+     * @return unparsed expression
+     */
+    public static LazyExpression of(CharSequence pattern, BiPredicate<FormatVariable, FormatVariable> compatibility) {
+        requireNonNull(pattern, "CharSequence pattern cannot be null");
+        requireNonNull(compatibility, "BiPredicate cannot be null");
+        return new LazyExpression(pattern.toString(), compatibility);
+    }
+
+    /**
+     * The parsed expression.
+     *
+     * @return the expression
+     * @throws IllegalArgumentException on malformed expressions
+     */
+    public FormatExpression expression() {
+        FormatExpression fe = parsed;
+        if (fe == null) {
+            fe = FormatExpression.parse(pattern, compatibility);
+            parsed = fe;
+        }
+        return fe;
+    }
+
+    /**
+     * Tests if the pattern has been parsed.
+     *
+     * @return true if {@link #expression()} has succeeded
+     */
+    public boolean isParsed() {
+        return parsed != null;
+    }
+
+    /**
+     * As {@link FormatExpression#formatTo(Locale, StringBuffer, Object...)}.
+     *
+     * @param l    the locale
+     * @param buf  the target buffer
+     * @param args array of arguments containing elements for any indices evaluated
+     * @throws IllegalArgumentException on malformed expressions
+     */
+    @Override
+    public void formatTo(Locale l, StringBuffer buf, Object... args) {
+        expression().formatTo(l, buf, args);
+    }
+
+    /**
+     * As {@link FormatExpression#format(Locale, Object...)}.
+     *
+     * @param l    the locale
+     * @param args array of arguments containing elements for any indices evaluated
+     * @return the evaluated expression
+     * @throws IllegalArgumentException on malformed expressions
+     */
+    @Override
+    public String format(Locale l, Object... args) {
+        return expression().format(l, args);
+    }
+
+    /**
+     * As {@link FormatExpression#argCount()}.
+     *
+     * @return argument count or zero if there are no variables
+     * @throws IllegalArgumentException on malformed expressions
+     */
+    public int argCount() {
+        return expression().argCount();
+    }
+
+    /**
+     * As {@link FormatExpression#iterator()}.
+     *
+     * @return component parts, in order
+     * @throws IllegalArgumentException on malformed expressions
+     */
+    @Override
+    public Iterator<Formatter> iterator() {
+        return expression().iterator();
+    }
+
+    /**
+     * The pattern; does not cause parsing.
+     *
+     * @return raw string
+     */
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -5,6 +5,7 @@ package uk.autores.format;
 
 import java.lang.reflect.Method;
 import java.text.FieldPosition;
+import java.text.Format;
 import java.util.Locale;
 
 /*
@@ -16,15 +17,17 @@ final class Lists {
     private Lists() {}
 
     static void format(Locale l, FormatVariable variable, StringBuffer buf, Object... args) {
+        var formatter = (Format) FormatterCache.get(Format.class, l, variable, Lists::create).clone();
+        formatter.format(args[variable.index()], buf, new FieldPosition(0));
+    }
+
+    private static Format create(Locale l, FormatVariable variable) {
         if (cached == null) {
             cached = init();
         }
         LF ListFormat = cached;
         Object type = style(ListFormat, variable.style());
-        Object formatter = Reflect.invoke(null, ListFormat.getInstance, l, type, ListFormat.FULL);
-        Object list = args[variable.index()];
-        variable.requireNonNull(list);
-        Reflect.invoke(formatter, ListFormat.format, list, buf, new FieldPosition(0));
+        return (Format) Reflect.invoke(null, ListFormat.getInstance, l, type, ListFormat.FULL);
     }
 
     private static LF init() {
@@ -33,13 +36,12 @@ final class Lists {
         Class<?> ListFormatType = Reflect.type("java.text.ListFormat$Type", msg);
         Class<?> ListFormatStyle = Reflect.type("java.text.ListFormat$Style", msg);
         Method getInstance = Reflect.meth(ListFormat, "getInstance", Locale.class, ListFormatType, ListFormatStyle);
-        Method format = Reflect.meth(ListFormat, "format", Object.class, StringBuffer.class, FieldPosition.class);
         Object STANDARD = Reflect.field(ListFormatType, "STANDARD");
         Object OR = Reflect.field(ListFormatType, "OR");
         Object UNIT = Reflect.field(ListFormatType, "UNIT");
         Object FULL = Reflect.field(ListFormatStyle, "FULL");
 
-        return new LF(getInstance, format, STANDARD, OR, UNIT, FULL);
+        return new LF(getInstance, STANDARD, OR, UNIT, FULL);
     }
 
     private static Object style(LF ListFormat, FmtStyle style) {
@@ -51,7 +53,6 @@ final class Lists {
     }
 
     private record LF(Method getInstance,
-                      Method format,
                       Object STANDARD,
                       Object OR,
                       Object UNIT,
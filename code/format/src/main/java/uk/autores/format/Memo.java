@@ -0,0 +1,68 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.time.*;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalUnit;
+import java.util.Locale;
+
+/*
+ * Remembers the last text rendered by a temporal variable.
+ * Values are truncated to the unit so hits and misses produce the same text.
+ * The slot holds an immutable entry; racing writers just replace each other.
+ */
+final class Memo {
+    private final TemporalUnit unit;
+    private volatile Entry last;
+
+    private Memo(TemporalUnit unit) {
+        this.unit = unit;
+    }
+
+    static Memo of(TemporalUnit unit) {
+        try {
+            LocalTime.MIDNIGHT.truncatedTo(unit);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unsupported unit " + unit, e);
+        }
+        return new Memo(unit);
+    }
+
+    void format(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
+        Temporal value = truncate(args[v.index()]);
+        if (value == null) {
+            v.type().formatter.format(l, v, buf, args);
+            return;
+        }
+        Entry e = last;
+        if (e != null && e.value.equals(value) && e.l.equals(l)) {
+            buf.append(e.text);
+            return;
+        }
+        Object[] truncated = args.clone();
+        truncated[v.index()] = value;
+        int start = buf.length();
+        v.type().formatter.format(l, v, buf, truncated);
+        last = new Entry(l, value, buf.substring(start));
+    }
+
+    private Temporal truncate(Object arg) {
+        if (arg instanceof Instant i) {
+            return i.truncatedTo(unit);
+        } else if (arg instanceof ZonedDateTime zdt) {
+            return zdt.truncatedTo(unit);
+        } else if (arg instanceof OffsetDateTime odt) {
+            return odt.truncatedTo(unit);
+        } else if (arg instanceof LocalDateTime ldt) {
+            return ldt.truncatedTo(unit);
+        } else if (arg instanceof LocalTime t) {
+            return t.truncatedTo(unit);
+        } else if (arg instanceof LocalDate d) {
+            return d;
+        }
+        return null;
+    }
+
+    private record Entry(Locale l, Temporal value, String text) {}
+}
@@ -5,14 +5,71 @@ package uk.autores.format;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.FieldPosition;
+import java.text.Format;
 import java.text.NumberFormat;
+import java.text.ParsePosition;
 import java.util.Locale;
 
 final class Numbers {
     private Numbers() {}
 
     static void format(Locale l, FormatVariable variable, StringBuffer buf, Object... args) {
-        var nf = switch (variable.style()) {
+        Object value = args[variable.index()];
+        if (isIntegral(value) && isPlain(variable.style())) {
+            integral(l, variable, buf, (Number) value);
+        } else {
+            pooled(l, variable, buf, value);
+        }
+    }
+
+    static void integral(Locale l, FormatVariable variable, StringBuffer buf, Number value) {
+        Digits digits = FormatterCache.get(Digits.class, l, variable, Numbers::digits);
+        if (digits.supported()) {
+            digits.format(value.longValue(), buf);
+        } else {
+            pooled(l, variable, buf, value);
+        }
+    }
+
+    static void pooled(Locale l, FormatVariable variable, StringBuffer buf, Object value) {
+        NumberFormat prototype = FormatterCache.get(NumberFormat.class, l, variable, Numbers::create);
+        Format nf = Pool.borrow(prototype);
+        try {
+            nf.format(value, buf, new FieldPosition(0));
+        } finally {
+            Pool.release(prototype, nf);
+        }
+    }
+
+    static Number parse(Locale l, FormatVariable variable, String text) {
+        NumberFormat prototype = FormatterCache.get(NumberFormat.class, l, variable, Numbers::create);
+        Format nf = Pool.borrow(prototype);
+        try {
+            var pos = new ParsePosition(0);
+            Object value = nf.parseObject(text, pos);
+            return pos.getIndex() == text.length() ? (Number) value : null;
+        } finally {
+            Pool.release(prototype, nf);
+        }
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer
+                || value instanceof Long
+                || value instanceof Short
+                || value instanceof Byte;
+    }
+
+    private static boolean isPlain(FmtStyle style) {
+        return style == FmtStyle.NONE || style == FmtStyle.INTEGER;
+    }
+
+    private static Digits digits(Locale l, FormatVariable variable) {
+        return Digits.of(FormatterCache.get(NumberFormat.class, l, variable, Numbers::create));
+    }
+
+    private static NumberFormat create(Locale l, FormatVariable variable) {
+        return switch (variable.style()) {
             case INTEGER -> NumberFormat.getIntegerInstance(l);
             case CURRENCY -> NumberFormat.getCurrencyInstance(l);
             case PERCENT -> NumberFormat.getPercentInstance(l);
@@ -21,9 +78,5 @@ final class Numbers {
             case COMPACT_SHORT -> NumberFormat.getCompactNumberInstance(l, NumberFormat.Style.SHORT);
             default -> NumberFormat.getInstance(l);
         };
-
-        Object value = args[variable.index()];
-        variable.requireNonNull(value);
-        nf.format(value, buf, new FieldPosition(0));
     }
 }
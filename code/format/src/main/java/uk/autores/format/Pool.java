@@ -0,0 +1,68 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.text.Format;
+
+/*
+ * Thread-confined copies of mutable formats.
+ * Instances are removed while in use so reentrant formatting gets its own copy.
+ * Pools die with their threads.
+ * Virtual threads are typically short-lived so always get fresh copies.
+ */
+final class Pool {
+    private static final int SIZE = 16;
+    private static final Class<?> VIRTUAL = typeOrVoid("java.lang.VirtualThread");
+    private static final ThreadLocal<Pool> POOLS = ThreadLocal.withInitial(Pool::new);
+
+    private final Format[] prototypes = new Format[SIZE];
+    private final Format[] instances = new Format[SIZE];
+    private int next;
+
+    private Pool() {}
+
+    static Format borrow(Format prototype) {
+        if (isVirtual()) {
+            return (Format) prototype.clone();
+        }
+        Pool pool = POOLS.get();
+        for (int i = 0; i < SIZE; i++) {
+            Format instance = pool.instances[i];
+            if (instance != null && pool.prototypes[i] == prototype) {
+                pool.instances[i] = null;
+                return instance;
+            }
+        }
+        return (Format) prototype.clone();
+    }
+
+    static void release(Format prototype, Format instance) {
+        if (isVirtual()) {
+            return;
+        }
+        Pool pool = POOLS.get();
+        for (int i = 0; i < SIZE; i++) {
+            if (pool.instances[i] == null && pool.prototypes[i] == prototype) {
+                pool.instances[i] = instance;
+                return;
+            }
+        }
+        int i = pool.next;
+        pool.next = (i + 1) % SIZE;
+        pool.prototypes[i] = prototype;
+        pool.instances[i] = instance;
+    }
+
+    private static boolean isVirtual() {
+        return Thread.currentThread().getClass() == VIRTUAL;
+    }
+
+    static Class<?> typeOrVoid(String name) {
+        try {
+            return Reflect.type(name, "");
+        } catch (UnsupportedOperationException e) {
+            // VirtualThread requires JDK21+
+            return Void.class;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.temporal.TemporalAccessor;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ *     Formats a {@link FormatExpression} using the components of a {@link Record} as arguments.
+ * </p>
+ * <p>
+ *     Components are matched to variables when the binding is created.
+ *     Expressions created with {@link FormatExpression#parseNamed(CharSequence)} match components by name;
+ *     other expressions match component <code>n</code> to argument index <code>n</code>.
+ *     Components no variable refers to are never read.
+ *     Components only used in <code>choice</code> branches are read as {@link Object}s
+ *     and checked when the branch is formatted.
+ * </p>
+ * <pre><code>
+ *     record Shipped(String customer, int count) {}
+ *     var binding = FormatExpression.parseNamed("{customer} ordered {count,number,integer} items")
+ *                                   .bindTo(Shipped.class);
+ *     String msg = binding.format(Locale.ENGLISH, new Shipped("Ann", 3));
+ * </code></pre>
+ * <p>
+ *     Instances are immutable &amp; thread safe.
+ * </p>
+ *
+ * @param <R> the record type
+ * @see FormatExpression#bindTo(Class)
+ * @since 17.4.0
+ */
+public final class RecordBinding<R extends Record> {
+    private static final MethodType ACCESSOR = MethodType.methodType(Object.class, Record.class);
+
+    private final FormatExpression expression;
+    private final Class<R> type;
+    // by argument index; null where the index is not referenced
+    private final MethodHandle[] accessors;
+
+    private RecordBinding(FormatExpression expression, Class<R> type, MethodHandle[] accessors) {
+        this.expression = expression;
+        this.type = type;
+        this.accessors = accessors;
+    }
+
+    static <R extends Record> RecordBinding<R> of(MethodHandles.Lookup lookup, Class<R> type, FormatExpression expression) {
+        requireNonNull(lookup, "Lookup cannot be null");
+        requireNonNull(type, "Class cannot be null");
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException(type + " is not a record");
+        }
+
+        RecordComponent[] components = type.getRecordComponents();
+        List<String> names = expression.names();
+        Class<?>[] argTypes = expression.argTypes();
+        BitSet nested = expression.choiceReferences();
+        // nested references past the last component are left unbound
+        var accessors = new MethodHandle[Math.max(argTypes.length, Math.min(nested.length(), components.length))];
+        for (int i = 0; i < accessors.length; i++) {
+            if (i >= argTypes.length || argTypes[i] == Void.class) {
+                // no top-level variable; bind any component used in a choice branch
+                RecordComponent rc = names.isEmpty()
+                        ? (nested.get(i) && i < components.length ? components[i] : null)
+                        : find(components, names.get(i));
+                if (rc != null) {
+                    accessors[i] = accessor(lookup, type, rc);
+                }
+                continue;
+            }
+            RecordComponent rc = names.isEmpty()
+                    ? positional(components, i, type)
+                    : named(components, names.get(i), type);
+            if (!accepts(argTypes[i], rc.getType())) {
+                throw new IllegalArgumentException(type.getName() + "." + rc.getName()
+                        + " is " + rc.getType().getName() + "; expected " + argTypes[i].getName());
+            }
+            accessors[i] = accessor(lookup, type, rc);
+        }
+        return new RecordBinding<>(expression, type, accessors);
+    }
+
+    private static RecordComponent positional(RecordComponent[] components, int index, Class<?> type) {
+        if (index >= components.length) {
+            throw new IllegalArgumentException(type.getName() + " has no component at index " + index);
+        }
+        return components[index];
+    }
+
+    private static RecordComponent named(RecordComponent[] components, String name, Class<?> type) {
+        RecordComponent rc = find(components, name);
+        if (rc == null) {
+            throw new IllegalArgumentException(type.getName() + " has no component named " + name);
+        }
+        return rc;
+    }
+
+    private static RecordComponent find(RecordComponent[] components, String name) {
+        for (RecordComponent rc : components) {
+            if (rc.getName().equals(name)) {
+                return rc;
+            }
+        }
+        return null;
+    }
+
+    private static boolean accepts(Class<?> argType, Class<?> component) {
+        Class<?> boxed = MethodType.methodType(component).wrap().returnType();
+        return argType.isAssignableFrom(boxed)
+                // may hold an acceptable subtype at runtime
+                || boxed.isAssignableFrom(argType)
+                || (argType == TemporalAccessor.class && Date.class.isAssignableFrom(boxed))
+                || (argType == List.class && boxed == Object[].class);
+    }
+
+    private static MethodHandle accessor(MethodHandles.Lookup lookup, Class<?> type, RecordComponent rc) {
+        try {
+            MethodHandle mh = lookup.findVirtual(type, rc.getName(), MethodType.methodType(rc.getType()));
+            // primitives are boxed here, once per call, rather than by reflection
+            return mh.asType(ACCESSOR);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access " + type.getName() + "." + rc.getName()
+                    + "; pass a Lookup with access to the record", e);
+        }
+    }
+
+    /**
+     * The bound expression.
+     *
+     * @return the expression
+     */
+    public FormatExpression expression() {
+        return expression;
+    }
+
+    /**
+     * The record type.
+     *
+     * @return the type
+     */
+    public Class<R> type() {
+        return type;
+    }
+
+    /**
+     * Formats the expression using the record components as arguments.
+     *
+     * @param l      the locale
+     * @param record the arguments
+     * @return the evaluated expression
+     */
+    public String format(Locale l, R record) {
+        return expression.format(l, args(record));
+    }
+
+    /**
+     * Formats the expression using the record components as arguments and appends it to the buffer.
+     *
+     * @param l      the locale
+     * @param buf    the target buffer
+     * @param record the arguments
+     */
+    public void formatTo(Locale l, StringBuffer buf, R record) {
+        expression.formatTo(l, buf, args(record));
+    }
+
+    /**
+     * Reads the referenced components into an argument array.
+     *
+     * @param record the arguments
+     * @return array of at least {@link FormatExpression#argCount()}; unreferenced indices are null
+     */
+    public Object[] args(R record) {
+        requireNonNull(record, "Record cannot be null");
+        var args = new Object[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            MethodHandle mh = accessors[i];
+            if (mh != null) {
+                args[i] = read(mh, record);
+            }
+        }
+        return args;
+    }
+
+    private static Object read(MethodHandle accessor, Record record) {
+        try {
+            return accessor.invokeExact(record);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return type.getName() + " -> " + expression;
+    }
+}
@@ -0,0 +1,107 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ *     The ordered {@link FormatVariable}s of a {@link FormatExpression}, ignoring literal text.
+ * </p>
+ * <p>
+ *     Translations of a message usually have the same shape.
+ *     {@link #share(FormatExpression)} rebuilds an expression around this shape's variable instances
+ *     so that expressions with the same shape hold one set of variables,
+ *     and the state they carry, between them; only the literals are per expression.
+ * </p>
+ * <pre><code>
+ *   Map&lt;Shape, Shape&gt; shapes = new HashMap&lt;&gt;();
+ *   FormatExpression shared = shapes.computeIfAbsent(expr.shape(), s -&gt; s).share(expr);
+ * </code></pre>
+ * <p>
+ *     Instances are immutable &amp; thread safe.
+ *     Shapes are equal if their variables have the same text, index and name in the same order.
+ * </p>
+ *
+ * @see FormatExpression#shape()
+ * @since 17.4.0
+ */
+public final class Shape {
+    private final FormatVariable[] variables;
+    private final int hash;
+
+    private Shape(FormatVariable[] variables) {
+        this.variables = variables;
+        int h = 1;
+        for (FormatVariable v : variables) {
+            h = 31 * h + v.toString().hashCode() + v.index();
+        }
+        this.hash = h;
+    }
+
+    static Shape of(Iterable<Formatter> expr, int count) {
+        var variables = new FormatVariable[count];
+        int n = 0;
+        for (Formatter f : expr) {
+            if (f instanceof FormatVariable v) {
+                variables[n++] = v;
+            }
+        }
+        return new Shape(variables);
+    }
+
+    /**
+     * The variables in order.
+     *
+     * @return immutable list
+     */
+    public List<FormatVariable> variables() {
+        return List.of(variables);
+    }
+
+    /**
+     * Returns an expression equal to the argument that uses this shape's variable instances.
+     *
+     * @param expr an expression with this shape
+     * @return the expression with its variables replaced; the argument if it already uses them
+     * @throws IllegalArgumentException if the expression has a different shape
+     */
+    public FormatExpression share(FormatExpression expr) {
+        requireNonNull(expr, "FormatExpression cannot be null");
+        if (!equals(expr.shape())) {
+            throw new IllegalArgumentException("Shape mismatch: " + expr);
+        }
+        return expr.withVariables(variables);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Shape other)
+                || hash != other.hash
+                || variables.length != other.variables.length) {
+            return false;
+        }
+        for (int i = 0; i < variables.length; i++) {
+            if (!variables[i].sameShape(other.variables[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(variables);
+    }
+}
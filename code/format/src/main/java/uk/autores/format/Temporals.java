@@ -12,93 +12,111 @@ final class Temporals {
     private Temporals() {}
 
     static void date(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        DateTimeFormatter dtf = formatter(DateTimeFormatter::ofLocalizedDate, l, v);
-        format(dtf, v, buf, args);
+        dateOf(l, v, buf, args[v.index()]);
+    }
+
+    static void dateOf(Locale l, FormatVariable v, StringBuffer buf, Object arg) {
+        DateTimeFormatter dtf = FormatterCache.get(DateTimeFormatter.class, l, v, Temporals::dateFormatter);
+        format(dtf, buf, arg);
     }
 
     static void time(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        DateTimeFormatter dtf = formatter(DateTimeFormatter::ofLocalizedTime, l, v);
-        format(dtf, v, buf, args);
+        timeOf(l, v, buf, args[v.index()]);
+    }
+
+    static void timeOf(Locale l, FormatVariable v, StringBuffer buf, Object arg) {
+        DateTimeFormatter dtf = FormatterCache.get(DateTimeFormatter.class, l, v, Temporals::timeFormatter);
+        format(dtf, buf, arg);
     }
 
     static void datetime(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        DateTimeFormatter dtf = formatter(DateTimeFormatter::ofLocalizedDateTime, l, v);
-        format(dtf, v, buf, args);
+        DateTimeFormatter dtf = FormatterCache.get(DateTimeFormatter.class, l, v, Temporals::datetimeFormatter);
+        format(dtf, buf, args[v.index()]);
     }
 
     static void ISO_LOCAL_DATE(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_LOCAL_DATE, v, buf, args);
+        iso(DateTimeFormatter.ISO_LOCAL_DATE, v, buf, args);
     }
 
     static void ISO_OFFSET_DATE(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_OFFSET_DATE, v, buf, args);
+        format(DateTimeFormatter.ISO_OFFSET_DATE, buf, args[v.index()]);
     }
 
     static void ISO_DATE(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_OFFSET_DATE, v, buf, args);
+        format(DateTimeFormatter.ISO_OFFSET_DATE, buf, args[v.index()]);
     }
 
     static void ISO_LOCAL_TIME(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_LOCAL_TIME, v, buf, args);
+        iso(DateTimeFormatter.ISO_LOCAL_TIME, v, buf, args);
     }
 
     static void ISO_OFFSET_TIME(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_OFFSET_TIME, v, buf, args);
+        format(DateTimeFormatter.ISO_OFFSET_TIME, buf, args[v.index()]);
     }
 
     static void ISO_TIME(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_TIME, v, buf, args);
+        format(DateTimeFormatter.ISO_TIME, buf, args[v.index()]);
     }
 
     static void ISO_LOCAL_DATE_TIME(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_LOCAL_DATE_TIME, v, buf, args);
+        iso(DateTimeFormatter.ISO_LOCAL_DATE_TIME, v, buf, args);
     }
 
     static void ISO_OFFSET_DATE_TIME(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_OFFSET_DATE_TIME, v, buf, args);
+        iso(DateTimeFormatter.ISO_OFFSET_DATE_TIME, v, buf, args);
     }
 
     static void ISO_ZONED_DATE_TIME(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_ZONED_DATE_TIME, v, buf, args);
+        iso(DateTimeFormatter.ISO_ZONED_DATE_TIME, v, buf, args);
     }
 
     static void ISO_DATE_TIME(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_DATE_TIME, v, buf, args);
+        iso(DateTimeFormatter.ISO_DATE_TIME, v, buf, args);
     }
 
     static void ISO_ORDINAL_DATE(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_ORDINAL_DATE, v, buf, args);
+        format(DateTimeFormatter.ISO_ORDINAL_DATE, buf, args[v.index()]);
     }
 
     static void ISO_WEEK_DATE(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_WEEK_DATE, v, buf, args);
+        format(DateTimeFormatter.ISO_WEEK_DATE, buf, args[v.index()]);
     }
 
     static void ISO_INSTANT(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.ISO_INSTANT, v, buf, args);
+        iso(DateTimeFormatter.ISO_INSTANT, v, buf, args);
     }
 
     static void BASIC_ISO_DATE(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.BASIC_ISO_DATE, v, buf, args);
+        iso(DateTimeFormatter.BASIC_ISO_DATE, v, buf, args);
     }
 
     static void RFC_1123_DATE_TIME(Locale l, FormatVariable v, StringBuffer buf, Object... args) {
-        format(DateTimeFormatter.RFC_1123_DATE_TIME, v, buf, args);
+        iso(DateTimeFormatter.RFC_1123_DATE_TIME, v, buf, args);
     }
 
-    private static void format(DateTimeFormatter f, FormatVariable variable, StringBuffer buf, Object... args) {
+    private static void iso(DateTimeFormatter f, FormatVariable variable, StringBuffer buf, Object... args) {
         var arg = args[variable.index()];
-        variable.requireNonNull(arg);
-        if (arg instanceof TemporalAccessor t) {
-            f.formatTo(t, buf);
-        } else {
-            var msg = variable
-                    + " requires "
-                    + TemporalAccessor.class.getName();
-            throw new IllegalArgumentException(msg);
+        if (!Iso.format(variable.type(), arg, buf)) {
+            format(f, buf, arg);
         }
     }
 
+    private static void format(DateTimeFormatter f, StringBuffer buf, Object arg) {
+        f.formatTo((TemporalAccessor) arg, buf);
+    }
+
+    private static DateTimeFormatter dateFormatter(Locale l, FormatVariable v) {
+        return formatter(DateTimeFormatter::ofLocalizedDate, l, v);
+    }
+
+    private static DateTimeFormatter timeFormatter(Locale l, FormatVariable v) {
+        return formatter(DateTimeFormatter::ofLocalizedTime, l, v);
+    }
+
+    private static DateTimeFormatter datetimeFormatter(Locale l, FormatVariable v) {
+        return formatter(DateTimeFormatter::ofLocalizedDateTime, l, v);
+    }
+
     private static DateTimeFormatter formatter(Function<FormatStyle, DateTimeFormatter> fn, Locale l, FormatVariable v) {
         if (v.style() == FmtStyle.SUBFORMAT) {
             return DateTimeFormatter.ofPattern(v.subformat(), l);
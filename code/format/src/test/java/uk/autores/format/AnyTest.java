@@ -0,0 +1,67 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.time.DayOfWeek;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnyTest {
+
+    @Test
+    void matchesMessageFormat() {
+        Object[] values = {
+                "foo", new StringBuilder("bar"), 1, -2L, (short) 3, (byte) 4,
+                new BigDecimal("1234.5678"), 1.5d, new Date(0L), DayOfWeek.MONDAY,
+        };
+        for (Locale l : new Locale[]{Locale.ENGLISH, Locale.GERMANY, Locale.forLanguageTag("ar-EG")}) {
+            for (Object value : values) {
+                var expr = FormatExpression.parse("[{0}]");
+                var expected = new MessageFormat("[{0}]", l).format(new Object[]{value});
+                // cold, monomorphic
+                assertEquals(expected, expr.format(l, value), value::toString);
+                assertEquals(expected, expr.format(l, value), value::toString);
+            }
+        }
+    }
+
+    @Test
+    void states() {
+        // not a lone variable so strings are not returned directly
+        var expr = FormatExpression.parse("[{0}]");
+        var v = (FormatVariable) expr.get(1);
+        assertNull(v.site());
+        assertEquals("[null]", expr.format(Locale.ENGLISH, (Object) null));
+        assertNull(v.site());
+        expr.format(Locale.ENGLISH, "a");
+        var mono = v.site();
+        assertNotNull(mono);
+        assertNotSame(Any.MEGAMORPHIC, mono);
+        assertEquals("[b]", expr.format(Locale.ENGLISH, "b"));
+        assertSame(mono, v.site());
+        assertEquals("[1]", expr.format(Locale.ENGLISH, 1));
+        assertSame(Any.MEGAMORPHIC, v.site());
+        assertEquals("[c]", expr.format(Locale.ENGLISH, "c"));
+        assertEquals("[2]", expr.format(Locale.ENGLISH, 2));
+        assertSame(Any.MEGAMORPHIC, v.site());
+    }
+
+    @Test
+    void notShared() {
+        var strings = FormatExpression.parse("<{0}>");
+        var numbers = FormatExpression.parse("({0})");
+        var s = (FormatVariable) strings.get(1);
+        var n = (FormatVariable) numbers.get(1);
+        assertNotSame(s, n);
+        strings.format(Locale.ENGLISH, "a");
+        numbers.format(Locale.ENGLISH, 1);
+        assertNotSame(Any.MEGAMORPHIC, s.site());
+        assertNotSame(Any.MEGAMORPHIC, n.site());
+    }
+}
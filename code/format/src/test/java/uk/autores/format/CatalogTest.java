@@ -0,0 +1,52 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogTest {
+
+    @Test
+    void revise() {
+        var first = Catalog.parse(Map.of("a", "{0}", "b", "{0,number}", "c", "foo"));
+        var second = first.revise(Map.of("a", "{0}", "b", "{0,number,integer}", "d", "bar"));
+
+        assertSame(first.get("a"), second.get("a"));
+        assertEquals(FormatExpression.parse("{0,number,integer}"), second.get("b"));
+        assertNull(second.get("c"));
+        assertEquals(Set.of("a", "b", "d"), second.keys());
+        assertEquals(Set.of("b", "c", "d"), second.changes(first));
+        assertTrue(first.changes(first).isEmpty());
+    }
+
+    @Test
+    void incompatibilities() {
+        var reference = Catalog.parse(Map.of("a", "{0} {1}", "b", "{0,number}", "c", "x"));
+        var translation = Catalog.parse(Map.of("a", "{1} {0}", "b", "{0,date}"));
+
+        var all = reference.incompatibilities(translation);
+        assertEquals(Set.of("b"), all.keySet());
+        assertEquals(FormatExpression.Problem.MISMATCH, all.get("b").iterator().next().problem());
+
+        var some = reference.incompatibilities(translation, Set.of("a", "c", "z"));
+        assertTrue(some.isEmpty());
+
+        var strict = Catalog.parse(Map.of("a", "{0}", "b", "{0,number}"), FormatVariable::strictMatch);
+        var loose = Catalog.parse(Map.of("a", "{0,number}", "b", "{0,number,integer}"));
+        assertEquals(Set.of("a"), strict.incompatibilities(loose).keySet());
+        assertTrue(Catalog.parse(Map.of("a", "{0}")).incompatibilities(loose).isEmpty());
+    }
+
+    @Test
+    void malformed() {
+        var e = assertThrowsExactly(IllegalArgumentException.class, () -> Catalog.parse(Map.of("bad", "{0,foobar}")));
+        assertTrue(e.getMessage().startsWith("bad: "), e.getMessage());
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> Catalog.parse(Map.of("strict", "{0} {0,number}"), FormatVariable::strictMatch));
+    }
+}
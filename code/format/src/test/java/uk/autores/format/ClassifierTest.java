@@ -0,0 +1,77 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassifierTest {
+
+    @Test
+    void classify() {
+        var catalog = Catalog.parse(Map.of(
+                "login", "User {0} logged in from {1}",
+                "logout", "User {0} logged out",
+                "shipped", "Order {0} shipped",
+                "she", "she said {0}",
+                "he", "{0}he{1}",
+                "hers", "{0} hers",
+                "any", "{0}",
+                "adjacent", "{0}{1} x"
+        ));
+        var classifier = Classifier.of(catalog);
+        assertEquals(Set.of("adjacent"), classifier.excluded());
+        assertEquals(List.of("any", "login"), classifier.classify("User ann logged in from 10.0.0.1"));
+        assertEquals(List.of("any", "logout"), classifier.classify("User ann logged out"));
+        assertEquals(List.of("any"), classifier.classify("User ann logged"));
+        assertEquals(List.of("any", "he", "hers"), classifier.classify("us hers"));
+        assertEquals(List.of("any", "he", "she"), classifier.classify("she said hi"));
+        assertEquals(List.of("any"), classifier.classify(""));
+
+        var lines = List.of("Order 7 shipped", "nothing", "User a logged out");
+        var all = classifier.classifyAll(lines);
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(classifier.classify(lines.get(i)), all.get(i));
+        }
+        assertTrue(classifier.footprint() > 0);
+        assertTrue(classifier.states() > 1);
+    }
+
+    @Test
+    void automaton() {
+        Map<Integer, FormatExpression> map = new LinkedHashMap<>();
+        String[] fragments = {"a", "ab", "bab", "bc", "bca", "c", "caa"};
+        for (int i = 0; i < fragments.length; i++) {
+            map.put(i, FormatExpression.parse("{0}" + fragments[i] + "{1}"));
+        }
+        map.put(99, FormatExpression.parse("{0}ab{1}"));
+        var classifier = Classifier.of(map);
+        String text = "abccab";
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < fragments.length; i++) {
+            if (text.contains(fragments[i])) {
+                expected.add(i);
+            }
+        }
+        expected.add(99);
+        assertEquals(expected, classifier.classify(text));
+        // many hits grow the candidate buffer
+        assertEquals(List.of(0, 1, 2, 99), classifier.classify("abababababab"));
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(NullPointerException.class, () -> Classifier.of((Catalog) null));
+        assertThrows(NullPointerException.class, () -> Classifier.of((Map<String, FormatExpression>) null));
+        Map<String, FormatExpression> nulls = new HashMap<>();
+        nulls.put("x", null);
+        assertThrows(NullPointerException.class, () -> Classifier.of(nulls));
+        var empty = Classifier.of(Map.of());
+        assertEquals(List.of(), empty.classify("x"));
+        assertThrows(NullPointerException.class, () -> empty.classify(null));
+        assertThrows(NullPointerException.class, () -> empty.classifyAll(null));
+    }
+}
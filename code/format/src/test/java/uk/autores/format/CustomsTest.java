@@ -0,0 +1,147 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomsTest {
+
+    private static final CustomFmtType BYTES = new Bytes();
+    private static final CustomFmtType MONEY = new Money();
+    private static final Map<String, CustomFmtType> CUSTOMS = Customs.index(List.of(BYTES, MONEY, new Label("number"), new Label("any")));
+
+    private static FormatExpression parse(String pattern) {
+        return FormatExpression.parse(pattern, FormatVariable::laxMatch, CUSTOMS);
+    }
+
+    @Test
+    void format() {
+        var expr = parse("{0,bytes} costs {1,MONEY,EUR} ({1,money})");
+        assertEquals("2048B costs EUR 10 (10)", expr.format(Locale.ENGLISH, 2048L, 10));
+        assertArrayEquals(new Class<?>[]{Long.class, Number.class}, expr.argTypes());
+        assertArrayEquals(new Object[]{1024L, 1}, expr.argExamples());
+        assertTrue(expr.estimateLen(Locale.ENGLISH) > 0);
+        assertThrows(NullPointerException.class, () -> expr.format(Locale.ENGLISH, null, 1));
+
+        var v = (FormatVariable) expr.get(0);
+        assertEquals(FmtType.CUSTOM, v.type());
+        assertSame(BYTES, v.custom().orElseThrow());
+        var money = (FormatVariable) expr.get(2);
+        assertEquals(FmtStyle.SUBFORMAT, money.style());
+        assertEquals("EUR", money.subformat());
+        assertEquals("{1,MONEY,EUR}", money.toString());
+    }
+
+    @Test
+    void builtInsWin() {
+        var expr = parse("{0,number}");
+        var v = (FormatVariable) expr.get(0);
+        assertEquals(FmtType.NUMBER, v.type());
+        assertTrue(v.custom().isEmpty());
+    }
+
+    @Test
+    void invalid() {
+        assertThrowsExactly(IllegalArgumentException.class, () -> parse("{0,money,eur}"));
+        assertThrowsExactly(IllegalArgumentException.class, () -> parse("{0,nothing}"));
+        assertThrowsExactly(IllegalArgumentException.class, () -> parse("{0,bytes"));
+        assertThrowsExactly(IllegalArgumentException.class, () -> FormatExpression.parse("{0,bytes}"));
+        assertThrowsExactly(IllegalArgumentException.class, () -> parse("{0,bytes} {0,number}"));
+    }
+
+    @Test
+    void compatibility() {
+        var bytes = (FormatVariable) parse("{0,bytes}").get(0);
+        var money = (FormatVariable) parse("{0,money}").get(0);
+        var number = (FormatVariable) parse("{0,number}").get(0);
+        var any = (FormatVariable) parse("{0,any}").get(0);
+        assertTrue(FormatVariable.strictMatch(bytes, bytes));
+        assertFalse(FormatVariable.strictMatch(bytes, money));
+        assertFalse(FormatVariable.laxMatch(bytes, money));
+        assertTrue(FormatVariable.laxMatch(money, number));
+        assertTrue(FormatVariable.laxMatch(any, bytes));
+    }
+
+    @Test
+    void index() {
+        for (String bad : new String[]{null, "", "a b", "a,b", "a}", "a{", "a'"}) {
+            assertThrowsExactly(IllegalArgumentException.class, () -> Customs.index(List.of(new Label(bad))));
+        }
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> Customs.index(List.of(new Label("Foo"), new Label("fOO"))));
+        assertEquals(Map.of(), Customs.index(List.of()));
+        assertSame(Customs.installed(), Customs.installed());
+    }
+
+    private static final class Bytes implements CustomFmtType {
+        @Override
+        public String label() {
+            return "bytes";
+        }
+
+        @Override
+        public Class<?> argType() {
+            return Long.class;
+        }
+
+        @Override
+        public Object example() {
+            return 1024L;
+        }
+
+        @Override
+        public void formatTo(Locale l, FormatVariable variable, StringBuffer buf, Object arg) {
+            buf.append(((Long) arg).longValue()).append('B');
+        }
+    }
+
+    private static final class Money implements CustomFmtType {
+        @Override
+        public String label() {
+            return "Money";
+        }
+
+        @Override
+        public Class<?> argType() {
+            return Number.class;
+        }
+
+        @Override
+        public Object example() {
+            return 1;
+        }
+
+        @Override
+        public void validate(String subformat) {
+            if (!subformat.isEmpty() && !subformat.equals("EUR")) {
+                throw new IllegalArgumentException(subformat);
+            }
+        }
+
+        @Override
+        public void formatTo(Locale l, FormatVariable variable, StringBuffer buf, Object arg) {
+            if (!variable.subformat().isEmpty()) {
+                buf.append(variable.subformat()).append(' ');
+            }
+            buf.append(arg);
+        }
+    }
+
+    private record Label(String label) implements CustomFmtType {
+        @Override
+        public Object example() {
+            return "";
+        }
+
+        @Override
+        public void formatTo(Locale l, FormatVariable variable, StringBuffer buf, Object arg) {
+            buf.append(arg);
+        }
+    }
+}
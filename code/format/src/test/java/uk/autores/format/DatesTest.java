@@ -0,0 +1,73 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DatesTest {
+
+    @Test
+    void legacy() {
+        var expr = FormatExpression.parse("{0,date,yyyy-MM-dd} {0,time,HH:mm:ss.SSSSSS}");
+        var instant = Instant.parse("2025-01-02T03:04:05.123456Z");
+        var zdt = ZonedDateTime.ofInstant(instant, ZoneId.systemDefault());
+        var expected = expr.format(Locale.ENGLISH, zdt);
+
+        var date = new Date(instant.toEpochMilli());
+        Object[] args = {date};
+        assertEquals(expected.replace("123456", "123000"), expr.format(Locale.ENGLISH, args));
+        assertSame(date, args[0]);
+
+        assertEquals(expected, expr.format(Locale.ENGLISH, new NanoDate(instant)));
+        assertEquals(expected.replace("123456", "123000"), expr.format(Locale.ENGLISH, new SqlDate(date.getTime())));
+    }
+
+    @Test
+    void any() {
+        var expr = FormatExpression.parse("{0}");
+        var date = new Date(0L);
+        var expected = expr.format(Locale.UK, date);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected, expr.format(Locale.UK, date));
+        }
+    }
+
+    /** Like java.sql.Timestamp */
+    private static final class NanoDate extends Date {
+        private static final long serialVersionUID = 1L;
+        private final Instant instant;
+
+        NanoDate(Instant instant) {
+            super(instant.toEpochMilli());
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant toInstant() {
+            return instant;
+        }
+    }
+
+    /** Like java.sql.Date */
+    private static final class SqlDate extends Date {
+        private static final long serialVersionUID = 1L;
+
+        SqlDate(long millis) {
+            super(millis);
+        }
+
+        @Override
+        public Instant toInstant() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeferredMessageTest {
+
+    @Test
+    void deferred() {
+        var expr = FormatExpression.parse("{0} {1,number}");
+        Object[] args = {"a", 1};
+        var msg = expr.defer(Locale.ENGLISH, args);
+        assertFalse(msg.isFormatted());
+        var buf = new StringBuffer();
+        msg.formatTo(buf);
+        assertFalse(msg.isFormatted());
+        assertEquals("a 1", buf.toString());
+
+        args[0] = "b";
+        assertEquals("b 1", msg.get());
+        assertTrue(msg.isFormatted());
+        args[0] = "c";
+        assertSame(msg.get(), msg.toString());
+        msg.formatTo(buf);
+        assertEquals("a 1b 1", buf.toString());
+    }
+
+    @Test
+    void snapshot() {
+        var expr = FormatExpression.parse("{0} {2,date,yyyy}");
+        var date = new Date(0L);
+        Object[] list = {"x", "y"};
+        Object[] args = {"a", list, date};
+        var msg = expr.defer(Locale.ENGLISH, args).snapshot();
+        String expected = expr.format(Locale.ENGLISH, args);
+        args[0] = "b";
+        list[0] = "z";
+        date.setTime(Long.MAX_VALUE / 2);
+        assertEquals(expected, msg.toString());
+        assertSame(msg, msg.snapshot());
+    }
+
+    @Test
+    void invalid() {
+        var expr = FormatExpression.parse("{0}");
+        assertThrows(NullPointerException.class, () -> DeferredMessage.of(null, Locale.ENGLISH));
+        assertThrows(NullPointerException.class, () -> expr.defer(null));
+        assertThrows(NullPointerException.class, () -> expr.defer(Locale.ENGLISH, (Object[]) null));
+        assertThrows(NullPointerException.class, () -> expr.defer(Locale.ENGLISH, 1).formatTo(null));
+    }
+}
@@ -0,0 +1,81 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DigitsTest {
+
+    @Test
+    void allLocales() {
+        List<Object> values = new ArrayList<>(List.of(
+                0, 1, -1, 7, -12, 123, 1234, -12345, 100_000, 1_000_000, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                0L, Long.MAX_VALUE, Long.MIN_VALUE, 9_999_999_999L, -10_000_000_000L,
+                (short) -300, Short.MAX_VALUE, (byte) -128, Byte.MAX_VALUE
+        ));
+        var random = new Random(0);
+        for (int i = 0; i < 50; i++) {
+            values.add(random.nextInt());
+            values.add(random.nextLong());
+            values.add(random.nextLong() >> random.nextInt(63));
+        }
+        String[] patterns = {"{0}", "{0,number}", "{0,number,integer}"};
+        for (String pattern : patterns) {
+            var expr = FormatExpression.parse(pattern);
+            for (Locale l : Locale.getAvailableLocales()) {
+                var mf = new MessageFormat(pattern, l);
+                for (Object value : values) {
+                    Object[] args = {value};
+                    var expected = mf.format(args, new StringBuffer(), new FieldPosition(0)).toString();
+                    var actual = expr.format(l, args);
+                    assertEquals(expected, actual, () -> pattern + " " + l + " " + value);
+                }
+            }
+        }
+    }
+
+    @Test
+    void appends() {
+        var digits = Digits.of(NumberFormat.getIntegerInstance(Locale.ENGLISH));
+        var buf = new StringBuffer("x=");
+        digits.format(-1234567, buf);
+        digits.format(0, buf);
+        assertEquals("x=-1,234,5670", buf.toString());
+    }
+
+    @Test
+    void unsupported() {
+        assertFalse(Digits.of(NumberFormat.getCompactNumberInstance()).supported());
+        assertFalse(Digits.of(NumberFormat.getPercentInstance(Locale.ENGLISH)).supported());
+        assertFalse(Digits.of(NumberFormat.getCurrencyInstance(Locale.ENGLISH)).supported());
+        var nf = NumberFormat.getInstance(Locale.ENGLISH);
+        nf.setMinimumIntegerDigits(4);
+        assertFalse(Digits.of(nf).supported());
+    }
+
+    @Test
+    void checked() {
+        assertTrue(Digits.of(NumberFormat.getIntegerInstance(Locale.ENGLISH)).supported());
+        // passes the structural tests but formats differently
+        var scientific = new DecimalFormat("###################0E0", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
+        assertFalse(Digits.of(scientific).supported());
+    }
+
+    @Test
+    void fallback() {
+        var l = Locale.ENGLISH;
+        var expr = FormatExpression.parse("{0,number,integer}");
+        assertEquals("1,234", expr.format(l, new BigDecimal("1234.4")));
+        assertEquals("1,234", expr.format(l, 1234.4d));
+    }
+}
@@ -0,0 +1,58 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EscapeTest {
+
+    private static String format(String pattern, Escape escape, Object... args) {
+        var buf = new StringBuffer();
+        FormatExpression.parse(pattern).formatEscaped(Locale.ENGLISH, buf, escape, args);
+        return buf.toString();
+    }
+
+    @Test
+    void html() {
+        assertEquals("&lt;b&gt; Tom &amp; &quot;Jerry&quot; &#39;x&#39;", format("<b> {0}", Escape.HTML, "Tom & \"Jerry\" 'x'"));
+        assertEquals("1,234 &lt;", format("{0,number} <", Escape.HTML, 1234));
+        assertEquals("a &amp; b", format("{0,choice,0#a & b|1#c}", Escape.HTML, 0));
+    }
+
+    @Test
+    void json() {
+        assertEquals("\\\"q\\\" \\\\ \\n\\r\\t\\b\\f\\u0001\\u001f\\u2028\\u2029 ok",
+                format("{0} ok", Escape.JSON, "\"q\" \\ \n\r\t\b\f\u0001\u001f\u2028\u2029"));
+        assertEquals("it's \\\"", format("it''s {0}", Escape.JSON, "\""));
+    }
+
+    @Test
+    void csv() {
+        assertEquals("a \"\"b\"\" \"\"", format("a {0} \"", Escape.CSV, "\"b\""));
+    }
+
+    @Test
+    void cached() {
+        var expr = FormatExpression.parse("<{0}>");
+        var lit = (FormatLiteral) expr.iterator().next();
+        assertSame(lit.escaped(Escape.HTML), lit.escaped(Escape.HTML));
+        assertEquals("<", lit.escaped(Escape.CSV));
+        var buf = new StringBuffer("<");
+        expr.formatEscaped(Locale.ENGLISH, buf, Escape.CSV, "x");
+        assertEquals("<<x>", buf.toString());
+    }
+
+    @Test
+    void invalid() {
+        var expr = FormatExpression.parse("{0}");
+        var buf = new StringBuffer();
+        assertThrows(NullPointerException.class, () -> expr.formatEscaped(null, buf, Escape.HTML, 1));
+        assertThrows(NullPointerException.class, () -> expr.formatEscaped(Locale.ENGLISH, null, Escape.HTML, 1));
+        assertThrows(NullPointerException.class, () -> expr.formatEscaped(Locale.ENGLISH, buf, null, 1));
+        assertThrows(NullPointerException.class, () -> expr.formatEscaped(Locale.ENGLISH, buf, Escape.HTML, (Object[]) null));
+    }
+}
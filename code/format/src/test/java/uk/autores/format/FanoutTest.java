@@ -0,0 +1,130 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanoutTest {
+
+    private static Map<Locale, FormatExpression> expressions(String... localeThenPattern) {
+        Map<Locale, FormatExpression> map = new LinkedHashMap<>();
+        for (int i = 0; i < localeThenPattern.length; i += 2) {
+            map.put(Locale.forLanguageTag(localeThenPattern[i]), FormatExpression.parse(localeThenPattern[i + 1]));
+        }
+        return map;
+    }
+
+    @Test
+    void format() {
+        var exprs = expressions(
+                "en", "{0} bought {1,number} on {2,date,short}",
+                "fr", "{0} a achet\u00e9 {1,number} le {2,date,short}",
+                "de", "{0}: {1}"
+        );
+        var fanout = Fanout.of(exprs);
+        var date = new Date(0L);
+        Object[] args = {"Ann", 1234.5, date};
+        Map<Locale, String> expected = new LinkedHashMap<>();
+        exprs.forEach((l, e) -> expected.put(l, e.format(l, args)));
+
+        assertEquals(expected, fanout.format(args));
+        assertEquals(expected, fanout.formatParallel(args));
+        assertEquals(List.copyOf(exprs.keySet()), List.copyOf(fanout.format(args).keySet()));
+        assertEquals(List.copyOf(exprs.keySet()), fanout.locales());
+        assertSame(date, args[2]);
+
+        Map<Locale, StringBuffer> sinks = new HashMap<>();
+        fanout.formatTo(l -> sinks.computeIfAbsent(l, k -> new StringBuffer()), args);
+        exprs.keySet().forEach(l -> assertEquals(expected.get(l), sinks.get(l).toString()));
+    }
+
+    @Test
+    void legacyDates() {
+        var date = new Date(0L);
+        var exprs = expressions("en", "{0,date,long}", "fr", "{0} {1,time}");
+        var fanout = Fanout.of(exprs);
+        for (var entry : fanout.format(date, LocalDate.of(2025, 1, 2).atStartOfDay()).entrySet()) {
+            var l = entry.getKey();
+            assertEquals(exprs.get(l).format(l, date, LocalDate.of(2025, 1, 2).atStartOfDay()), entry.getValue());
+        }
+
+        var branch = Fanout.of(expressions("en", "{0,date,long}", "fr", "{1,choice,0#|1#{0,dtf_date,yyyy}}"));
+        assertEquals(2, branch.format(date, 0).size());
+        assertThrowsExactly(IllegalArgumentException.class, () -> branch.format(date, 1));
+    }
+
+    @Test
+    void lazy() {
+        var calls = new AtomicInteger();
+        var name = Lazy.of(() -> "Ann" + calls.incrementAndGet());
+        var fanout = Fanout.of(expressions("en", "{0} has {1,number}", "fr", "{0} a {1,number}", "de", "{1}"));
+        var results = fanout.format(name, Lazy.of(() -> 2));
+        assertEquals("Ann1 has 2", results.get(Locale.ENGLISH));
+        assertEquals("Ann1 a 2", results.get(Locale.FRENCH));
+        assertEquals(1, calls.get());
+        assertThrowsExactly(IllegalArgumentException.class, () -> fanout.format("Bob", Lazy.of(() -> "2")));
+    }
+
+    @Test
+    void catalogs() {
+        Map<Locale, Catalog> catalogs = new LinkedHashMap<>();
+        catalogs.put(Locale.ENGLISH, Catalog.parse(Map.of("k", "{0} items")));
+        catalogs.put(Locale.FRENCH, Catalog.parse(Map.of("k", "{0} articles")));
+        catalogs.put(Locale.GERMAN, Catalog.parse(Map.of()));
+        var fanout = Fanout.of(catalogs, "k");
+        assertEquals(List.of(Locale.ENGLISH, Locale.FRENCH), fanout.locales());
+        assertEquals("3 articles", fanout.format(3).get(Locale.FRENCH));
+    }
+
+    @Test
+    void named() {
+        Map<Locale, FormatExpression> exprs = new LinkedHashMap<>();
+        exprs.put(Locale.ENGLISH, FormatExpression.parseNamed("{user} bought {item}"));
+        exprs.put(Locale.GERMAN, FormatExpression.parseNamed("{item} kaufte {user}"));
+        exprs.put(Locale.FRENCH, FormatExpression.parseNamed("{n,choice,0#rien|1#{item} pour {user}}"));
+        exprs.put(Locale.ITALIAN, FormatExpression.parse("Acquisto"));
+        var fanout = Fanout.of(exprs);
+        assertEquals(List.of("user", "item", "n"), fanout.names());
+
+        var results = fanout.format(fanout.args(Map.of("user", "Ann", "item", "Book", "n", 1)));
+        assertEquals("Ann bought Book", results.get(Locale.ENGLISH));
+        assertEquals("Book kaufte Ann", results.get(Locale.GERMAN));
+        assertEquals("Book pour Ann", results.get(Locale.FRENCH));
+        assertEquals("Acquisto", results.get(Locale.ITALIAN));
+
+        Map<Locale, FormatExpression> conflict = new LinkedHashMap<>();
+        conflict.put(Locale.ENGLISH, FormatExpression.parseNamed("{user} {n,number}"));
+        conflict.put(Locale.GERMAN, FormatExpression.parseNamed("{n,date} {user}"));
+        assertThrowsExactly(IllegalArgumentException.class, () -> Fanout.of(conflict));
+
+        Map<Locale, FormatExpression> mixed = new LinkedHashMap<>();
+        mixed.put(Locale.ENGLISH, FormatExpression.parseNamed("{user}"));
+        mixed.put(Locale.GERMAN, FormatExpression.parse("{0}"));
+        assertThrowsExactly(IllegalArgumentException.class, () -> Fanout.of(mixed));
+
+        var indexed = Fanout.of(expressions("en", "{0} {1}"));
+        assertEquals(List.of(), indexed.names());
+        assertEquals(2, indexed.args(Map.of("x", 1)).length);
+    }
+
+    @Test
+    void invalid() {
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> Fanout.of(expressions("en", "{0,number}", "fr", "{0,date}")));
+        var fanout = Fanout.of(expressions("en", "{0,number} {1} {2,list}", "fr", "{2} {0} {1,date}"));
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> fanout.format(1));
+        assertThrowsExactly(IllegalArgumentException.class, () -> fanout.format("1", new Date(), new Object[0]));
+        assertThrowsExactly(IllegalArgumentException.class, () -> fanout.format(1, new Date(), "x"));
+        assertThrowsExactly(NullPointerException.class, () -> fanout.format(null, new Date(), List.of()));
+        assertThrows(NullPointerException.class, () -> fanout.format((Object[]) null));
+        assertThrows(NullPointerException.class, () -> fanout.formatTo(null, 1, new Date(), List.of()));
+        assertThrows(NullPointerException.class, () -> fanout.formatTo(l -> null, 1, new Date(), List.of()));
+        assertTrue(Fanout.of(Map.of()).format().isEmpty());
+    }
+}
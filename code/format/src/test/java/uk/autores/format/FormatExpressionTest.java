@@ -16,6 +16,8 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.TemporalAccessor;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -264,15 +266,15 @@ class FormatExpressionTest {
 
     @Test
     void rawNumbers() {
-        assertSame(Integer.MAX_VALUE);
+        assertMatchesMessageFormat(Integer.MAX_VALUE);
     }
 
     @Test
     void rawDates() {
-        assertSame(new Date(0));
+        assertMatchesMessageFormat(new Date(0));
     }
 
-    private void assertSame(Object... args) {
+    private void assertMatchesMessageFormat(Object... args) {
         var buf = new StringBuffer();
         for (var l : Locale.getAvailableLocales()) {
             new MessageFormat("{0}", l).format(args, buf, new FieldPosition(0));
@@ -394,6 +396,199 @@ class FormatExpressionTest {
         }
     }
 
+    @Test
+    void fastPaths() {
+        var en = Locale.ENGLISH;
+        {
+            var expr = FormatExpression.parse("it''s '{'constant'}'");
+            assertEquals("it's {constant}", expr.format(en));
+            assertSame(expr.format(en), expr.format(en, "ignored"));
+            assertSame("", FormatExpression.parse("").format(en));
+            assertThrowsExactly(NullPointerException.class, () -> expr.format(null));
+            assertThrowsExactly(NullPointerException.class, () -> expr.format(en, (Object[]) null));
+        }
+        {
+            var expr = FormatExpression.parse("{1}");
+            var arg = "foo";
+            assertSame(arg, expr.format(en, null, arg));
+            assertEquals("1,000", expr.format(en, null, 1000));
+            assertEquals("null", expr.format(en, null, null));
+            assertThrowsExactly(NullPointerException.class, () -> expr.format(null, null, arg));
+            assertThrowsExactly(NullPointerException.class, () -> expr.format(en, (Object[]) null));
+            assertThrows(IndexOutOfBoundsException.class, () -> expr.format(en, arg));
+        }
+        {
+            var expr = FormatExpression.parse("{0,number}");
+            assertEquals("1", expr.format(en, 1));
+        }
+    }
+
+    @Test
+    void partial() {
+        var l = Locale.UK;
+        String[] patterns = {
+                "{0} has {1,number} new {1,choice,0#messages|1#message|1<messages from {0}}.",
+                "'{'{0}'}' {2}{1}",
+                "{0}{1}{0}",
+                "{1,choice,0#none|1#[{0}]|1<{0}+{2}}",
+                "it''s {1,number,integer} '{0}'",
+        };
+        Object[][] values = {
+                {"Acme", 1, "x"},
+                {"{'}", 2, "'"},
+                {"'", 0, "{"},
+                {"}{", 10_000, "''"},
+        };
+        for (String pattern : patterns) {
+            var expr = FormatExpression.parse(pattern);
+            for (Object[] args : values) {
+                var expected = expr.format(l, args);
+                for (int mask = 0; mask < 8; mask++) {
+                    Map<Integer, Object> bound = new HashMap<>();
+                    for (int i = 0; i < 3; i++) {
+                        if ((mask & (1 << i)) != 0) {
+                            bound.put(i, args[i]);
+                        }
+                    }
+                    var partial = expr.partial(l, bound);
+                    var desc = pattern + " " + bound + " " + partial;
+                    // values at bound indices are ignored
+                    Object[] unbound = args.clone();
+                    bound.keySet().forEach(i -> unbound[i] = null);
+                    assertEquals(expected, partial.format(l, unbound), desc);
+                    var reparsed = FormatExpression.parse(partial.toString());
+                    assertEquals(expected, reparsed.format(l, unbound), desc);
+                    assertTrue(partial.size() <= expr.size() + 2, desc);
+                }
+            }
+        }
+    }
+
+    @Test
+    void quoteThenVariable() {
+        // regression: the parser skipped the char after a quoted section
+        String[] patterns = {
+                "'{'{0}'}'", "'x'{0}", "''{0}''", "'a''''b'{0}", "'{'{0}", "'x'y{0}", "'{0}'{0}'{0}'",
+        };
+        for (String pattern : patterns) {
+            var expected = new MessageFormat(pattern, Locale.ENGLISH).format(new Object[]{"v"});
+            var expr = FormatExpression.parse(pattern);
+            assertEquals(expected, expr.format(Locale.ENGLISH, "v"), pattern);
+            assertEquals(1, expr.argCount(), pattern);
+            assertEquals(pattern, expr.toString(), pattern);
+        }
+        var expr = FormatExpression.parse("'{'{0}");
+        assertEquals(2, expr.size());
+        assertEquals("{", ((FormatLiteral) expr.get(0)).processed());
+        assertInstanceOf(FormatVariable.class, expr.get(1));
+    }
+
+    @Test
+    void named() {
+        var l = Locale.ENGLISH;
+        var pattern = "{user} has {count,choice,0#no files|1#one file|1<{count,number,integer} files in {dir}}. ({user})";
+        var expr = FormatExpression.parseNamed(pattern);
+        assertEquals(pattern, expr.toString());
+        assertEquals(List.of("user", "count", "dir"), expr.names());
+        assertEquals(3, expr.argCount());
+
+        var user = (FormatVariable) expr.get(0);
+        assertEquals("user", user.name());
+        assertEquals(0, user.index());
+        assertEquals("{user}", user.toString());
+        var count = (FormatVariable) expr.get(2);
+        assertEquals("count", count.name());
+        assertEquals(1, count.index());
+        assertEquals("0#no files|1#one file|1<{1,number,integer} files in {2}", count.subformat());
+
+        Object[] args = expr.args(Map.of("user", "Bob", "count", 1234, "dir", "/tmp", "ignored", 0));
+        assertArrayEquals(new Object[]{"Bob", 1234, "/tmp"}, args);
+        assertEquals("Bob has 1,234 files in /tmp. (Bob)", expr.format(l, args));
+        assertEquals("Bob has no files. (Bob)", expr.format(l, expr.args(Map.of("user", "Bob", "count", 0))));
+        assertEquals("{a}{b}", FormatExpression.parseNamed("{a}{b}").toString());
+
+        // choice removes single quotes so '{user}' is a reference; ''{user}'' is literal
+        var quoted = FormatExpression.parseNamed("{n,choice,0#none|1#x '{user}' ''{other}''}");
+        assertEquals(List.of("n", "user"), quoted.names());
+        assertEquals(new MessageFormat("{0,choice,0#none|1#x '{1}' ''{other}''}", l).format(new Object[]{1, "Bob"}),
+                quoted.format(l, 1, "Bob"));
+        assertEquals("x Bob {other}", quoted.format(l, 1, "Bob"));
+        assertEquals("x", FormatExpression.parseNamed("{_a1}").format(l, "x"));
+        assertEquals(List.of(), FormatExpression.parse("{0}").names());
+        assertEquals("", ((FormatVariable) FormatExpression.parse("{0}").get(0)).name());
+        assertThrowsExactly(NullPointerException.class, () -> expr.args(null));
+    }
+
+    @Test
+    void namedInvalid() {
+        String[] invalid = {"{0}", "{}", "{1a}", "{a b}", "{a,foo}", "{a", "{a,choice,0#{1}}", "{a,choice,0#{}}"};
+        for (String pattern : invalid) {
+            assertThrowsExactly(IllegalArgumentException.class, () -> FormatExpression.parseNamed(pattern), pattern);
+        }
+        assertThrowsExactly(IllegalArgumentException.class, () -> FormatExpression.parse("{a}"));
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> FormatExpression.parseNamed("{a,number} {a,date}", FormatVariable::strictMatch));
+    }
+
+    @Test
+    void namedCompatibility() {
+        var reference = FormatExpression.parseNamed("{user} has {count,number} files");
+        var reordered = FormatExpression.parseNamed("{count,number} files for {user}");
+        assertEquals(Set.of(), reference.incompatibilities(reordered));
+
+        var other = FormatExpression.parseNamed("{count,date} files for {owner}");
+        var problems = reference.incompatibilities(other).stream()
+                .map(FormatExpression.Incompatibility::toString)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(
+                "variable {count} has compatibility issues",
+                "variable {owner} does not exist",
+                "variable {user} missing"
+        ), problems);
+
+        var indexed = FormatExpression.parse("{0} has {1,number} files");
+        assertEquals(4, reference.incompatibilities(indexed).size());
+        var mismatch = reference.incompatibilities(other, FormatVariable::strictMatch).stream()
+                .filter(i -> i.problem() == FormatExpression.Problem.MISMATCH)
+                .findFirst()
+                .orElseThrow();
+        assertEquals("count", mismatch.name());
+        assertEquals(1, mismatch.index());
+    }
+
+    @Test
+    void partialStructure() {
+        var l = Locale.ENGLISH;
+        var expr = FormatExpression.parse("Hello, {0}! You have {1,number} '{'messages'}'.");
+        var partial = expr.partial(l, Map.of(0, "World"));
+        assertEquals(3, partial.size());
+        assertEquals("Hello, World! You have ", lit(partial.get(0)).processed());
+        assertEquals(2, partial.argCount());
+        assertSame(expr.get(3), partial.get(1));
+
+        var branches = FormatExpression.parse("{1,choice,0#none|1#[{0}]}").partial(l, Map.of(0, "Acme"));
+        assertEquals("{1,choice,0#none|1#[Acme]}", branches.toString());
+        assertEquals("[Acme]", branches.format(l, null, 1));
+        var escaped = FormatExpression.parse("{1,choice,0#none|1#[{0}]}").partial(l, Map.of(0, "it's {x} | #"));
+        assertEquals("[it's {x} | #]", escaped.format(l, null, 1));
+        assertEquals("[it's {x} | #]", FormatExpression.parse(escaped.toString()).format(l, null, 1));
+        var named = FormatExpression.parseNamed("{n,choice,0#none|1#{n} for {user}}").partial(l, Map.of(1, "Ann"));
+        assertEquals("{n,choice,0#none|1#{n} for Ann}", named.toString());
+        assertEquals("2 for Ann", FormatExpression.parseNamed(named.toString()).format(l, 2));
+        assertEquals("Hello, World! You have 2 {messages}.", partial.format(l, null, 2));
+
+        var constant = expr.partial(l, Map.of(0, "x", 1, 1));
+        assertEquals(1, constant.size());
+        assertEquals(0, constant.argCount());
+        assertEquals("Hello, x! You have 1 {messages}.", constant.format(l));
+
+        assertEquals(0, FormatExpression.parse("{0}").partial(l, Map.of(0, "")).size());
+        assertEquals(1, FormatExpression.parse("{0}").partial(l, Map.of(1, "")).argCount());
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.partial(l, Map.of(-1, "")));
+        assertThrowsExactly(NullPointerException.class, () -> expr.partial(null, Map.of()));
+        assertThrowsExactly(NullPointerException.class, () -> expr.partial(l, null));
+    }
+
     @Test
     void narrowing() {
         var epoch = ZonedDateTime.ofInstant(Instant.EPOCH, ZoneId.of("UTC"));
@@ -437,4 +632,203 @@ class FormatExpressionTest {
             assertEquals(expected, actual);
         }
     }
+
+    @Test
+    void lazy() {
+        var calls = new AtomicInteger();
+        var expensive = Lazy.of(() -> "x" + calls.incrementAndGet());
+        var expr = FormatExpression.parse("{0,choice,0#none|1#{1} and {1}|1<{1}, {2}} {1}");
+        Object[] args = {1, expensive, Lazy.of(() -> { throw new AssertionError(); })};
+        assertEquals("x1 and x1 x1", expr.format(Locale.ENGLISH, args));
+        assertEquals(1, calls.get());
+        assertSame(expensive, args[1]);
+        assertEquals("x1 and x1 x1", expr.format(Locale.ENGLISH, args));
+        assertEquals(1, calls.get());
+
+        assertEquals("none x2", expr.format(Locale.ENGLISH, Lazy.of(() -> 0), Lazy.of(() -> "x" + calls.incrementAndGet())));
+        assertEquals("a", FormatExpression.parse("{0}").format(Locale.ENGLISH, Lazy.of(() -> "a")));
+        assertEquals("<null>", FormatExpression.parse("<{0}>").format(Locale.ENGLISH, Lazy.of(() -> null)));
+        assertEquals("1", FormatExpression.parse("{1}").format(Locale.ENGLISH, 0, 1));
+        assertEquals("b", Lazy.of(() -> "b").toString());
+        assertThrows(NullPointerException.class, () -> Lazy.of(null));
+
+        Supplier<String> plain = new Supplier<>() {
+            @Override
+            public String get() {
+                throw new AssertionError();
+            }
+
+            @Override
+            public String toString() {
+                return "plain";
+            }
+        };
+        assertEquals("[plain]", FormatExpression.parse("[{0}]").format(Locale.ENGLISH, plain));
+    }
+
+    @Test
+    void required() {
+        var expr = FormatExpression.parse("{0,choice,0#none|1#{1}|1<{1}, {2}} {3}");
+        assertEquals(Set.of(0, 3), expr.required(0));
+        assertEquals(Set.of(0, 1, 3), expr.required(1));
+        assertEquals(List.of(0, 1, 2, 3), List.copyOf(expr.required(Lazy.of(() -> 2))));
+        assertEquals(Set.of(), FormatExpression.parse("x").required());
+        assertThrows(NullPointerException.class, () -> expr.required((Object[]) null));
+    }
+
+    @Test
+    void formatBounded() {
+        var expr = FormatExpression.parse("ab{0}cd{1}");
+        var buf = new StringBuffer(">");
+        assertFalse(expr.formatBounded(Locale.ENGLISH, buf, 6, "x", "y"));
+        assertEquals(">abxcdy", buf.toString());
+
+        buf = new StringBuffer(">");
+        assertTrue(expr.formatBounded(Locale.ENGLISH, buf, 3, "xyz", Lazy.of(() -> { throw new AssertionError(); })));
+        assertEquals(">abx", buf.toString());
+
+        buf = new StringBuffer(">");
+        assertTrue(expr.formatBounded(Locale.ENGLISH, buf, 0, "x", "y"));
+        assertEquals(">", buf.toString());
+
+        String pair = "\uD83D\uDE00";
+        buf = new StringBuffer();
+        assertTrue(expr.formatBounded(Locale.ENGLISH, buf, 3, pair + pair, ""));
+        assertEquals("ab", buf.toString());
+        buf = new StringBuffer();
+        assertTrue(expr.formatBounded(Locale.ENGLISH, buf, 4, pair + pair, ""));
+        assertEquals("ab" + pair, buf.toString());
+        buf = new StringBuffer();
+        assertTrue(FormatExpression.parse("{0}").formatBounded(Locale.ENGLISH, buf, 1, "\uD83Dx"));
+        assertEquals("\uD83D", buf.toString());
+
+        assertFalse(expr.formatBounded(Locale.ENGLISH, new StringBuffer(), Integer.MAX_VALUE, "x", "y"));
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.formatBounded(Locale.ENGLISH, new StringBuffer(), -1, "x", "y"));
+        assertThrows(NullPointerException.class, () -> expr.formatBounded(null, new StringBuffer(), 1, "x", "y"));
+        assertThrows(NullPointerException.class, () -> expr.formatBounded(Locale.ENGLISH, null, 1, "x", "y"));
+        assertThrows(NullPointerException.class, () -> expr.formatBounded(Locale.ENGLISH, new StringBuffer(), 1, (Object[]) null));
+    }
+
+    @Test
+    void formatSpans() {
+        var expr = FormatExpression.parse("Hi {0}, you owe {1,number} ({1,number,percent}).");
+        var spans = new int[6];
+        var buf = new StringBuffer(">");
+        assertEquals(3, expr.formatSpans(Locale.ENGLISH, buf, spans, "Ann", 1234));
+        assertEquals(expr.format(Locale.ENGLISH, "Ann", 1234), buf.substring(1));
+        assertEquals("Ann", buf.substring(spans[0], spans[1]));
+        assertEquals("1,234", buf.substring(spans[2], spans[3]));
+        assertEquals("123,400%", buf.substring(spans[4], spans[5]));
+
+        assertEquals(0, FormatExpression.parse("x").formatSpans(Locale.ENGLISH, new StringBuffer(), new int[0]));
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.formatSpans(Locale.ENGLISH, new StringBuffer(), new int[5], "Ann", 1));
+        assertThrows(NullPointerException.class, () -> expr.formatSpans(null, new StringBuffer(), spans, "Ann", 1));
+        assertThrows(NullPointerException.class, () -> expr.formatSpans(Locale.ENGLISH, null, spans, "Ann", 1));
+        assertThrows(NullPointerException.class, () -> expr.formatSpans(Locale.ENGLISH, new StringBuffer(), null, "Ann", 1));
+        assertThrows(NullPointerException.class, () -> expr.formatSpans(Locale.ENGLISH, new StringBuffer(), spans, (Object[]) null));
+    }
+
+    @Test
+    void remap() {
+        var expr = FormatExpression.parse("{0} of {1,choice,0#none|1#'{0}' {0}|1<{1}}");
+        var remapped = expr.remap(2, 0);
+        assertEquals("{2} of {0,choice,0#none|1#'{2}' {2}|1<{0}}", remapped.toString());
+        assertEquals(3, remapped.argCount());
+        assertEquals("a of none", remapped.format(Locale.ENGLISH, 0, null, "a"));
+        assertEquals("a of a, b", FormatExpression.parse("{0} of {1,choice,1<{0}, {2}}").remap(2, 0, 1)
+                .format(Locale.ENGLISH, 2, "b", "a"));
+        assertSame(expr.get(1), remapped.get(1));
+
+        // choice removes single quotes so only doubled quotes hide a reference
+        var quoted = FormatExpression.parse("{0,choice,0#a|1#{1} b '{2}' ''{2}''}").remap(0, 1, 5);
+        assertEquals("{0,choice,0#a|1#{1} b '{5}' ''{2}''}", quoted.toString());
+        Object[] args = {1, "x", "no", null, null, "y"};
+        assertEquals(new MessageFormat(quoted.toString(), Locale.ENGLISH).format(args), quoted.format(Locale.ENGLISH, args));
+        assertEquals("x b y {2}", quoted.format(Locale.ENGLISH, args));
+        var nested = FormatExpression.parse("{0,choice,0#a|1#'{1,choice,0#b|1#{2,number}}'}").remap(1, 0, 2);
+        assertEquals("{1,choice,0#a|1#'{0,choice,0#b|1#{2,number}}'}", nested.toString());
+        assertEquals("3", nested.format(Locale.ENGLISH, 1, 1, 3));
+        assertEquals(BitSet.valueOf(new long[]{0b101}), nested.choiceReferences());
+
+        var doubled = FormatExpression.parse("{00}{1}").remap(0, 0);
+        assertEquals("{0}{0}", doubled.toString());
+        assertEquals(1, doubled.argCount());
+
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.remap(0));
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.remap(0, -1));
+        assertThrowsExactly(IllegalArgumentException.class, () -> FormatExpression.parse("{1,choice,0#{2}}").remap(0, 1));
+        assertThrowsExactly(IllegalArgumentException.class, () -> FormatExpression.parse("{0,number}{1,date}").remap(0, 0));
+        assertThrowsExactly(IllegalArgumentException.class, () -> FormatExpression.parseNamed("{a}").remap(0));
+        assertThrows(NullPointerException.class, () -> expr.remap((int[]) null));
+    }
+
+    @Test
+    void concat() {
+        var greeting = FormatExpression.parse("Hello, {0}");
+        var tail = FormatExpression.parse("! You have {1,number,integer} messages.");
+        var joined = FormatExpression.concat(greeting, tail);
+        assertEquals(5, joined.size());
+        assertEquals("Hello, {0}! You have {1,number,integer} messages.", joined.toString());
+        assertEquals("Hello, Ann! You have 3 messages.", joined.format(Locale.ENGLISH, "Ann", 3));
+
+        var quoted = FormatExpression.concat(FormatExpression.parse("it''s "), FormatExpression.parse("'{'x'}'"));
+        assertEquals(1, quoted.size());
+        assertEquals("it's {x}", quoted.format(Locale.ENGLISH));
+
+        var named = FormatExpression.concat(
+                FormatExpression.parseNamed("{b} and {a}, "),
+                FormatExpression.parseNamed("{c} and {b,number}"));
+        assertEquals(List.of("b", "a", "c"), named.names());
+        assertEquals("1 and x, y and 1", named.format(Locale.ENGLISH, 1, "x", "y"));
+
+        var choice = FormatExpression.concat(
+                FormatExpression.parseNamed("{user}: "),
+                FormatExpression.parseNamed("{count,choice,0#none|1<{count} in {directory}}"));
+        assertEquals("{user}: {count,choice,0#none|1<{count} in {directory}}", choice.toString());
+        var reparsed = FormatExpression.parseNamed(choice.toString());
+        assertEquals(choice.names(), reparsed.names());
+        for (int count : new int[]{0, 2}) {
+            assertEquals(choice.format(Locale.ENGLISH, "Ann", count, "/tmp"),
+                    reparsed.format(Locale.ENGLISH, "Ann", count, "/tmp"));
+        }
+        assertEquals("Ann: 2 in /tmp", choice.format(Locale.ENGLISH, "Ann", 2, "/tmp"));
+
+        assertEquals(0, FormatExpression.concat().size());
+        assertEquals("x", FormatExpression.concat(FormatExpression.parse("x"), FormatExpression.parseNamed("{a}"))
+                .get(0).toString());
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> FormatExpression.concat(FormatExpression.parse("{0}"), FormatExpression.parseNamed("{a}")));
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> FormatExpression.concat(FormatExpression.parse("{0,number}"), FormatExpression.parse("{0,date}")));
+        assertThrows(NullPointerException.class, () -> FormatExpression.concat((FormatExpression) null));
+        assertThrows(NullPointerException.class, () -> FormatExpression.concat((FormatExpression[]) null));
+    }
+
+    @Test
+    void validation() {
+        var expr = FormatExpression.parse("{0} owes {1,number} since {2,date} for {3,list}");
+        var buf = new StringBuffer(">");
+        assertThrowsExactly(NullPointerException.class, () -> expr.formatTo(Locale.ENGLISH, buf, "Ann", null, new Date(), List.of()));
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.formatTo(Locale.ENGLISH, buf, "Ann", "1", new Date(), List.of()));
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.formatTo(Locale.ENGLISH, buf, "Ann", 1, 0L, List.of()));
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.formatTo(Locale.ENGLISH, buf, "Ann", 1, new Date(), "x"));
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> expr.formatTo(Locale.ENGLISH, buf, "Ann", 1, new Date()));
+        Lazy<Integer> bad = Lazy.of(() -> null);
+        assertThrowsExactly(NullPointerException.class, () -> expr.formatEscaped(Locale.ENGLISH, buf, Escape.HTML, "Ann", bad, new Date(), new Object[0]));
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.formatSpans(Locale.ENGLISH, buf, new int[8], "Ann", 1, new Date(), 1));
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.formatBounded(Locale.ENGLISH, buf, 100, "Ann", "1", new Date(), List.of()));
+        assertEquals(">", buf.toString());
+
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> FormatExpression.parse("{0,iso_local_date}").format(Locale.ENGLISH, new Date()));
+        var branch = FormatExpression.parse("{0,choice,0#|1#{1,number}}");
+        assertEquals("", branch.format(Locale.ENGLISH, 0));
+        assertThrowsExactly(IllegalArgumentException.class, () -> branch.format(Locale.ENGLISH, 1, "x"));
+        var number = (FormatVariable) expr.get(2);
+        assertThrowsExactly(IllegalArgumentException.class, () -> number.formatTo(Locale.ENGLISH, buf, "Ann", "1"));
+        assertThrowsExactly(NullPointerException.class, () -> number.formatTo(Locale.ENGLISH, buf, "Ann", null));
+        assertThrowsExactly(IllegalArgumentException.class, () -> branch.required("x"));
+        assertEquals(List.of(Object.class, Number.class), List.of(expr.argTypes()).subList(0, 2));
+        assertNotSame(expr.argTypes(), expr.argTypes());
+    }
 }
@@ -0,0 +1,97 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatMatcherTest {
+
+    @Test
+    void roundTrip() {
+        var expr = FormatExpression.parse("{0} bought {1,number,integer} items on {2,ISO_LOCAL_DATE}.");
+        var matcher = expr.matcher();
+        Object[] args = {"Ann", 1200L, LocalDate.of(2025, 1, 2)};
+        String text = expr.format(Locale.ENGLISH, args);
+        assertArrayEquals(args, matcher.parse(Locale.ENGLISH, text));
+        assertSame(expr, matcher.expression());
+
+        var spans = new int[6];
+        var sb = new StringBuilder(text);
+        assertTrue(matcher.matches(sb, spans));
+        var buf = new StringBuffer();
+        var expected = new int[6];
+        expr.formatSpans(Locale.ENGLISH, buf, expected, args);
+        assertArrayEquals(expected, spans);
+    }
+
+    @Test
+    void anchors() {
+        var matcher = FormatExpression.parse("[{0}] {1}: {2}!").matcher();
+        assertArrayEquals(new Object[]{"a", "b c", "d: e!"}, matcher.parse(Locale.ENGLISH, "[a] b c: d: e!!"));
+        assertArrayEquals(new Object[]{"", "", ""}, matcher.parse(Locale.ENGLISH, "[] : !"));
+        assertFalse(matcher.matches("[a b: c!"));
+        assertFalse(matcher.matches("a] b: c!"));
+        assertFalse(matcher.matches("[a] b c!"));
+        assertFalse(matcher.matches("[a] b: c"));
+        assertFalse(matcher.matches("[a] b:!"));
+        assertNull(matcher.parse(Locale.ENGLISH, "x"));
+
+        var kmp = FormatExpression.parse("{0}abab{1}").matcher();
+        assertArrayEquals(new Object[]{"aba", "x"}, kmp.parse(Locale.ENGLISH, "abaababx"));
+        assertArrayEquals(new Object[]{"x", "ab"}, FormatExpression.parse("{0}abab{1}").matcher().parse(Locale.ENGLISH, "xababab"));
+
+        var trailing = FormatExpression.parse("{0}").matcher();
+        assertArrayEquals(new Object[]{"anything"}, trailing.parse(Locale.ENGLISH, "anything"));
+        var literal = FormatExpression.parse("x").matcher();
+        assertTrue(literal.matches("x"));
+        assertFalse(literal.matches("xy"));
+        assertTrue(FormatExpression.parse("").matcher().matches(""));
+    }
+
+    @Test
+    void repeated() {
+        var matcher = FormatExpression.parse("{0} {1} {0}").matcher();
+        assertArrayEquals(new Object[]{"a", "b"}, matcher.parse(Locale.ENGLISH, "a b c"));
+        assertArrayEquals(new Object[]{null, "x"}, FormatExpression.parse("-{1}").matcher().parse(Locale.ENGLISH, "-x"));
+    }
+
+    @Test
+    void types() {
+        var zdt = ZonedDateTime.of(2025, 1, 2, 3, 4, 5, 0, ZoneId.of("Europe/Paris"));
+        var expr = FormatExpression.parse("{0,number}|{1,ISO_LOCAL_TIME}|{2,ISO_OFFSET_TIME}|{3,ISO_LOCAL_DATE_TIME}"
+                + "|{4,ISO_OFFSET_DATE_TIME}|{5,ISO_ZONED_DATE_TIME}|{6,ISO_INSTANT}|{7,BASIC_ISO_DATE}"
+                + "|{8,RFC_1123_DATE_TIME}|{9,ISO_DATE_TIME}|{10,date,short}");
+        Object[] args = {
+                1.5, zdt.toLocalTime(), zdt.toOffsetDateTime().toOffsetTime(), zdt.toLocalDateTime(),
+                zdt.toOffsetDateTime(), zdt, zdt.toInstant(), zdt.toLocalDate(),
+                zdt, zdt, zdt
+        };
+        String text = expr.format(Locale.ENGLISH, args);
+        Object[] parsed = expr.matcher().parse(Locale.ENGLISH, text);
+        assertNotNull(parsed, text);
+        for (int i = 0; i < 8; i++) {
+            assertEquals(args[i], parsed[i], text);
+        }
+        assertEquals(zdt.toInstant(), Instant.from((ZonedDateTime) parsed[8]));
+        assertEquals(zdt, parsed[9]);
+        assertInstanceOf(String.class, parsed[10]);
+
+        assertNull(FormatExpression.parse("{0,number}").matcher().parse(Locale.ENGLISH, "12x"));
+        assertNull(FormatExpression.parse("{0,ISO_INSTANT}").matcher().parse(Locale.ENGLISH, "yesterday"));
+    }
+
+    @Test
+    void invalid() {
+        assertThrowsExactly(IllegalArgumentException.class, () -> FormatExpression.parse("{0}{1}").matcher());
+        var matcher = FormatExpression.parse("{0} {1}").matcher();
+        assertThrowsExactly(IllegalArgumentException.class, () -> matcher.matches("a b", new int[3]));
+        assertThrows(NullPointerException.class, () -> matcher.matches(null));
+        assertThrows(NullPointerException.class, () -> matcher.matches("a b", null));
+        assertThrows(NullPointerException.class, () -> matcher.parse(null, "a b"));
+    }
+}
@@ -0,0 +1,58 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatterCacheTest {
+
+    @Test
+    void stats() {
+        var expr = FormatExpression.parse("{0,number,'#'0.0#}");
+        expr.format(Locale.CANADA_FRENCH, 1);
+        long hits = FormatterCache.hits();
+        long misses = FormatterCache.misses();
+        expr.format(Locale.CANADA_FRENCH, 2);
+        assertTrue(FormatterCache.hits() > hits);
+        assertTrue(FormatterCache.misses() >= misses);
+        assertTrue(FormatterCache.size() > 0);
+    }
+
+    @Test
+    void bounded() {
+        int capacity = FormatterCache.capacity();
+        var l = Locale.ENGLISH;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i <= capacity; i++) {
+                var pattern = "{0,number,'" + i + "'0}";
+                var expr = FormatExpression.parse(pattern);
+                var actual = expr.format(l, 1);
+                assertEquals(actual, expr.format(l, 1));
+                if (pass == 0 && i % 256 == 0) {
+                    assertEquals(new MessageFormat(pattern, l).format(new Object[]{1}), actual);
+                }
+                assertTrue(FormatterCache.size() <= capacity);
+            }
+        }
+    }
+
+    @Test
+    void secondChance() {
+        int capacity = FormatterCache.capacity();
+        var l = Locale.ENGLISH;
+        var hot = FormatExpression.parse("{0,number,'hot'0}");
+        hot.format(l, 1);
+        for (int i = 0; i < 2 * capacity; i++) {
+            FormatExpression.parse("{0,number,'cold" + i + "'0}").format(l, 1);
+            long misses = FormatterCache.misses();
+            hot.format(l, 1);
+            assertEquals(misses, FormatterCache.misses());
+        }
+        assertTrue(FormatterCache.size() <= capacity);
+    }
+}
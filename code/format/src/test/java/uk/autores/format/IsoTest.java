@@ -0,0 +1,120 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsoTest {
+
+    private static final Map<FmtType, DateTimeFormatter> FORMATTERS = Map.of(
+            FmtType.ISO_LOCAL_DATE, DateTimeFormatter.ISO_LOCAL_DATE,
+            FmtType.ISO_LOCAL_TIME, DateTimeFormatter.ISO_LOCAL_TIME,
+            FmtType.ISO_LOCAL_DATE_TIME, DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            FmtType.ISO_OFFSET_DATE_TIME, DateTimeFormatter.ISO_OFFSET_DATE_TIME,
+            FmtType.ISO_ZONED_DATE_TIME, DateTimeFormatter.ISO_ZONED_DATE_TIME,
+            FmtType.ISO_DATE_TIME, DateTimeFormatter.ISO_DATE_TIME,
+            FmtType.ISO_INSTANT, DateTimeFormatter.ISO_INSTANT,
+            FmtType.BASIC_ISO_DATE, DateTimeFormatter.BASIC_ISO_DATE,
+            FmtType.RFC_1123_DATE_TIME, DateTimeFormatter.RFC_1123_DATE_TIME
+    );
+
+    @Test
+    void matchesJdk() {
+        var temporals = temporals();
+        for (var e : FORMATTERS.entrySet()) {
+            var expr = FormatExpression.parse("{0," + e.getKey().label() + "}");
+            for (TemporalAccessor t : temporals) {
+                String expected;
+                try {
+                    expected = e.getValue().format(t);
+                } catch (DateTimeException ex) {
+                    assertThrows(ex.getClass(), () -> expr.format(Locale.ENGLISH, t), expr + " " + t);
+                    continue;
+                }
+                assertEquals(expected, expr.format(Locale.ENGLISH, t), expr + " " + t);
+            }
+        }
+    }
+
+    @Test
+    void fallback() {
+        var buf = new StringBuffer();
+        assertFalse(Iso.format(FmtType.ISO_ORDINAL_DATE, LocalDate.EPOCH, buf));
+        assertFalse(Iso.format(FmtType.ISO_INSTANT, LocalDate.EPOCH, buf));
+        assertFalse(Iso.format(FmtType.ISO_LOCAL_DATE, null, buf));
+        assertEquals(0, buf.length());
+
+        var expr = FormatExpression.parse("{0,ISO_LOCAL_DATE}");
+        assertEquals("1970-01-01", expr.format(Locale.ENGLISH, new DelegatingAccessor(LocalDate.EPOCH)));
+        assertThrows(NullPointerException.class, () -> expr.format(Locale.ENGLISH, (Object) null));
+        assertThrows(IllegalArgumentException.class, () -> expr.format(Locale.ENGLISH, "1970-01-01"));
+    }
+
+    private static List<TemporalAccessor> temporals() {
+        int[] years = {-999_999_999, -10_000, -1, 0, 1, 999, 1970, 2024, 9999, 10_000, 999_999_999};
+        int[] nanos = {0, 1, 10, 1000, 120_000, 1_000_000, 100_000_000, 123_456_789, 999_999_999};
+        ZoneOffset[] offsets = {
+                ZoneOffset.UTC, ZoneOffset.ofHours(1), ZoneOffset.ofHoursMinutes(-5, -30),
+                ZoneOffset.ofHoursMinutesSeconds(1, 2, 3), ZoneOffset.MAX, ZoneOffset.MIN,
+        };
+        ZoneId[] zones = {
+                ZoneOffset.UTC, ZoneOffset.ofHours(-8), ZoneId.of("UTC"), ZoneId.of("Europe/London"),
+                ZoneId.of("America/St_Johns"), ZoneId.of("GMT+2"),
+        };
+        List<TemporalAccessor> list = new ArrayList<>();
+        for (int year : years) {
+            for (int nano : nanos) {
+                var ldt = LocalDateTime.of(year, 1 + Math.abs(year % 12), 1 + Math.abs(year % 28), 3, 4, 5, nano);
+                list.add(ldt);
+                list.add(ldt.toLocalDate());
+                list.add(ldt.toLocalTime());
+                for (ZoneOffset offset : offsets) {
+                    list.add(OffsetDateTime.of(ldt, offset));
+                }
+                for (ZoneId zone : zones) {
+                    var zdt = ZonedDateTime.of(ldt, zone);
+                    list.add(zdt);
+                    list.add(zdt.toInstant());
+                }
+            }
+        }
+        var r = new Random(31);
+        for (int i = 0; i < 1000; i++) {
+            var instant = Instant.ofEpochSecond(r.nextLong() % 300_000_000_000L, r.nextInt(1_000_000_000));
+            list.add(instant);
+            list.add(instant.atZone(zones[i % zones.length]));
+            list.add(instant.atOffset(offsets[i % offsets.length]));
+            list.add(LocalTime.ofNanoOfDay(Math.abs(r.nextLong() % LocalTime.MAX.toNanoOfDay())));
+        }
+        list.add(Instant.MIN);
+        list.add(Instant.MAX);
+        list.add(Instant.EPOCH);
+        list.add(LocalTime.MIDNIGHT);
+        list.add(LocalTime.of(0, 0));
+        list.add(Year.of(2000));
+        return list;
+    }
+
+    private record DelegatingAccessor(TemporalAccessor t) implements TemporalAccessor {
+        @Override
+        public boolean isSupported(java.time.temporal.TemporalField field) {
+            return t.isSupported(field);
+        }
+
+        @Override
+        public long getLong(java.time.temporal.TemporalField field) {
+            return t.getLong(field);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+import uk.autores.format.testing.TestStrings;
+
+import java.util.Iterator;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyExpressionTest {
+
+    @Test
+    void deferred() {
+        var lazy = LazyExpression.of("{0,foobar}");
+        assertFalse(lazy.isParsed());
+        assertEquals("{0,foobar}", lazy.toString());
+        assertThrowsExactly(IllegalArgumentException.class, lazy::expression);
+        assertThrowsExactly(IllegalArgumentException.class, lazy::argCount);
+        assertFalse(lazy.isParsed());
+    }
+
+    @Test
+    void equivalence() {
+        for (String t : TestStrings.valid()) {
+            var expected = FormatExpression.parse(t);
+            var lazy = LazyExpression.of(t);
+            assertEquals(expected, lazy, t);
+            assertEquals(expected.hashCode(), lazy.hashCode(), t);
+            assertFalse(lazy.isParsed(), t);
+            assertEquals(expected.argCount(), lazy.argCount(), t);
+            assertTrue(lazy.isParsed(), t);
+            assertSame(lazy.expression(), lazy.expression(), t);
+
+            Iterator<Formatter> e = expected.iterator();
+            for (Formatter f : lazy) {
+                assertEquals(e.next(), f, t);
+            }
+            assertFalse(e.hasNext(), t);
+        }
+    }
+
+    @Test
+    void format() {
+        var l = Locale.ENGLISH;
+        var lazy = LazyExpression.of("{0} {1,number,integer}");
+        assertEquals("foo 1,000", lazy.format(l, "foo", 1000));
+        var buf = new StringBuffer();
+        lazy.formatTo(l, buf, "bar", 1);
+        assertEquals("bar 1", buf.toString());
+    }
+
+    @Test
+    void strict() {
+        var lazy = LazyExpression.of("{0} {0,number}", FormatVariable::strictMatch);
+        assertThrowsExactly(IllegalArgumentException.class, lazy::expression);
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoTest {
+
+    @Test
+    void truncates() {
+        var expr = FormatExpression.parse("{0,ISO_INSTANT} {0,dtf_datetime,full} {1}");
+        var memo = expr.memoize(ChronoUnit.SECONDS);
+        var base = Instant.parse("2025-01-02T03:04:05Z");
+        var zone = ZoneId.of("Europe/Paris");
+        Temporal[] values = {
+                base.atZone(zone),
+                base.atOffset(ZoneOffset.ofHours(1)),
+                LocalDateTime.ofInstant(base, zone),
+                LocalTime.ofInstant(base, zone),
+        };
+        for (Temporal t : values) {
+            var e = FormatExpression.parse("{0,dtf_time,HH:mm:ss.SSS}").memoize(ChronoUnit.SECONDS);
+            assertEquals(
+                    e.format(Locale.ENGLISH, t),
+                    e.format(Locale.ENGLISH, t.plus(999, ChronoUnit.MILLIS))
+            );
+            assertEquals("03:04:05.000", e.format(Locale.ENGLISH, t.with(LocalTime.of(3, 4, 5, 500))));
+        }
+        var instant = FormatExpression.parse("{0,ISO_INSTANT}").memoize(ChronoUnit.MILLIS);
+        assertEquals("2025-01-02T03:04:05.001Z", instant.format(Locale.ENGLISH, base.plusNanos(1_000_999)));
+        assertEquals("2025-01-02T03:04:05.001Z", instant.format(Locale.ENGLISH, base.plusNanos(1_000_001)));
+        for (int i = 0; i < 2; i++) {
+            var zdt = base.atZone(zone);
+            assertEquals(expr.format(Locale.ENGLISH, zdt, i), memo.format(Locale.ENGLISH, zdt.plusNanos(1), i));
+            assertEquals(expr.format(Locale.FRENCH, zdt, i), memo.format(Locale.FRENCH, zdt.plusNanos(2), i));
+            assertEquals(expr.format(Locale.FRENCH, zdt.plusDays(1), i), memo.format(Locale.FRENCH, zdt.plusDays(1), i));
+        }
+    }
+
+    @Test
+    void days() {
+        var expr = FormatExpression.parse("{0,date,long}").memoize(ChronoUnit.DAYS);
+        var date = LocalDate.of(2025, 1, 2);
+        var expected = FormatExpression.parse("{0,date,long}").format(Locale.UK, date);
+        assertEquals(expected, expr.format(Locale.UK, date));
+        assertEquals(expected, expr.format(Locale.UK, date));
+        assertEquals(expected, expr.format(Locale.UK, date.atTime(23, 59)));
+    }
+
+    @Test
+    void passThrough() {
+        var src = FormatExpression.parse("{0,date,short} {1} {2,number}");
+        var expr = src.memoize(ChronoUnit.MINUTES);
+        var date = new Date(0L);
+        assertEquals(src.format(Locale.US, date, "x", 1), expr.format(Locale.US, date, "x", 1));
+        assertEquals(src.toString(), expr.toString());
+        assertEquals(src.argCount(), expr.argCount());
+        assertSame(src.get(2), expr.get(2));
+        assertNotSame(src.get(0), expr.get(0));
+        assertThrows(NullPointerException.class, () -> expr.format(Locale.US, null, "x", 1));
+    }
+
+    @Test
+    void units() {
+        var expr = FormatExpression.parse("{0}");
+        assertThrows(IllegalArgumentException.class, () -> expr.memoize(ChronoUnit.WEEKS));
+        assertThrows(IllegalArgumentException.class, () -> expr.memoize(ChronoUnit.FOREVER));
+        assertThrows(NullPointerException.class, () -> expr.memoize(null));
+        assertNotNull(expr.memoize(ChronoUnit.HALF_DAYS));
+    }
+}
@@ -0,0 +1,80 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.text.Format;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolTest {
+
+    @Test
+    void reuse() {
+        Format prototype = NumberFormat.getInstance(Locale.ENGLISH);
+        Format first = Pool.borrow(prototype);
+        assertNotSame(prototype, first);
+        Format nested = Pool.borrow(prototype);
+        assertNotSame(first, nested);
+        Pool.release(prototype, nested);
+        Pool.release(prototype, first);
+        assertSame(nested, Pool.borrow(prototype));
+        assertSame(first, Pool.borrow(prototype));
+    }
+
+    @Test
+    void bounded() {
+        Format kept = NumberFormat.getInstance(Locale.ENGLISH);
+        Format pooled = Pool.borrow(kept);
+        Pool.release(kept, pooled);
+        var others = new Format[100];
+        var copies = new Format[others.length];
+        for (int i = 0; i < others.length; i++) {
+            others[i] = NumberFormat.getInstance(Locale.ENGLISH);
+            copies[i] = Pool.borrow(others[i]);
+            Pool.release(others[i], copies[i]);
+        }
+        assertNotSame(pooled, Pool.borrow(kept));
+        int retained = 0;
+        for (int i = 0; i < others.length; i++) {
+            if (Pool.borrow(others[i]) == copies[i]) {
+                retained++;
+            }
+        }
+        assertTrue(retained > 0);
+        assertTrue(retained <= 16, "retained " + retained);
+    }
+
+    @Test
+    void virtual() throws Exception {
+        Method start;
+        try {
+            start = Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (NoSuchMethodException e) {
+            // virtual threads require JDK21+
+            return;
+        }
+        Format prototype = NumberFormat.getInstance(Locale.ENGLISH);
+        var result = new AtomicReference<Format>();
+        Runnable r = () -> {
+            Format f = Pool.borrow(prototype);
+            Pool.release(prototype, f);
+            Format g = Pool.borrow(prototype);
+            result.set(f == g ? null : g);
+        };
+        Thread t = (Thread) start.invoke(null, r);
+        t.join();
+        assertNotNull(result.get());
+    }
+
+    @Test
+    void type() {
+        assertSame(Void.class, Pool.typeOrVoid("DoesNotExist"));
+        assertSame(String.class, Pool.typeOrVoid("java.lang.String"));
+    }
+}
@@ -0,0 +1,131 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordBindingTest {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private record Shipped(String customer, int count, LocalDate when) {}
+
+    private record Listing(String name, int count, String dir) {}
+
+    private record Anything(Object a, Date b, Object[] c) {}
+
+    private record Broken(String value) {
+        @Override
+        public String value() {
+            throw new IllegalStateException(value);
+        }
+    }
+
+    private record Sneaky(String value) {
+        @Override
+        public String value() {
+            return Sneaky.<RuntimeException>sneak(new Exception(value));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T extends Throwable> String sneak(Throwable t) throws T {
+            throw (T) t;
+        }
+    }
+
+    @Test
+    void named() {
+        var expr = FormatExpression.parseNamed("{customer} ordered {count,number,integer} on {when,dtf_date,yyyy-MM-dd}");
+        var binding = expr.bindTo(LOOKUP, Shipped.class);
+        var shipped = new Shipped("Ann", 1200, LocalDate.of(2025, 1, 2));
+        String expected = expr.format(Locale.ENGLISH, "Ann", 1200, LocalDate.of(2025, 1, 2));
+        assertEquals(expected, binding.format(Locale.ENGLISH, shipped));
+        var buf = new StringBuffer("> ");
+        binding.formatTo(Locale.ENGLISH, buf, shipped);
+        assertEquals("> " + expected, buf.toString());
+        assertSame(expr, binding.expression());
+        assertSame(Shipped.class, binding.type());
+        assertTrue(binding.toString().contains(expr.toString()));
+        assertThrows(NullPointerException.class, () -> binding.format(Locale.ENGLISH, null));
+    }
+
+    @Test
+    void positional() {
+        var expr = FormatExpression.parse("{2,date,short}: {0}");
+        var binding = expr.bindTo(LOOKUP, Shipped.class);
+        var shipped = new Shipped("Ann", 3, LocalDate.of(2025, 1, 2));
+        assertArrayEquals(new Object[]{"Ann", null, shipped.when()}, binding.args(shipped));
+        assertEquals(expr.format(Locale.UK, "Ann", 3, shipped.when()), binding.format(Locale.UK, shipped));
+
+        var unboxed = FormatExpression.parse("{1}").bindTo(LOOKUP, Shipped.class);
+        assertEquals("3", unboxed.format(Locale.UK, shipped));
+        assertEquals(Integer.valueOf(3), unboxed.args(shipped)[1]);
+    }
+
+    @Test
+    void choiceOnly() {
+        var named = FormatExpression.parseNamed("{name} has {count,choice,0#no files|1#one file|1<{count} files in {dir}}")
+                .bindTo(LOOKUP, Listing.class);
+        assertEquals("Bob has 3 files in /tmp", named.format(Locale.ENGLISH, new Listing("Bob", 3, "/tmp")));
+        assertEquals("Bob has no files", named.format(Locale.ENGLISH, new Listing("Bob", 0, "/tmp")));
+
+        var positional = FormatExpression.parse("{1,choice,0#none|1<{1} in {2}}").bindTo(LOOKUP, Listing.class);
+        assertArrayEquals(new Object[]{null, 2, "/tmp"}, positional.args(new Listing("Bob", 2, "/tmp")));
+        assertEquals("2 in /tmp", positional.format(Locale.ENGLISH, new Listing("Bob", 2, "/tmp")));
+
+        var quoted = FormatExpression.parse("{1,choice,0#none|1<{1} in '{2}'}").bindTo(LOOKUP, Listing.class);
+        assertEquals("2 in /tmp", quoted.format(Locale.ENGLISH, new Listing("Bob", 2, "/tmp")));
+
+        var missing = FormatExpression.parse("{1,choice,0#none|1<{5}}").bindTo(LOOKUP, Listing.class);
+        assertArrayEquals(new Object[]{null, 2, null}, missing.args(new Listing("Bob", 2, "/tmp")));
+        var absent = FormatExpression.parseNamed("{count,choice,0#none|1<{other}}").bindTo(LOOKUP, Listing.class);
+        assertArrayEquals(new Object[]{0, null}, absent.args(new Listing("Bob", 0, "/tmp")));
+    }
+
+    @Test
+    void types() {
+        var binding = FormatExpression.parse("{0,number} {1,date,short} {2,list}").bindTo(LOOKUP, Anything.class);
+        assertNotNull(binding);
+        assertNotNull(FormatExpression.parse("{0} {1} {2}").bindTo(LOOKUP, Anything.class));
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> FormatExpression.parse("{1,number}").bindTo(LOOKUP, Anything.class));
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> FormatExpression.parse("{0,number}").bindTo(LOOKUP, Shipped.class));
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> FormatExpression.parse("{2,list}").bindTo(LOOKUP, Shipped.class));
+        assertEquals(List.of(), FormatExpression.parse("{0,list}").bindTo(LOOKUP, Anything.class).expression().names());
+    }
+
+    @Test
+    void invalid() {
+        var expr = FormatExpression.parseNamed("{customer}");
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.bindTo(Shipped.class));
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> FormatExpression.parseNamed("{nobody}").bindTo(LOOKUP, Shipped.class));
+        assertThrowsExactly(IllegalArgumentException.class,
+                () -> FormatExpression.parse("{3}").bindTo(LOOKUP, Shipped.class));
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Class<Record> notRecord = (Class) String.class;
+        assertThrowsExactly(IllegalArgumentException.class, () -> expr.bindTo(LOOKUP, notRecord));
+        assertThrows(NullPointerException.class, () -> expr.bindTo(null, Shipped.class));
+        assertThrows(NullPointerException.class, () -> expr.bindTo(LOOKUP, null));
+    }
+
+    @Test
+    void accessorFailures() {
+        var expr = FormatExpression.parse("{0}");
+        var broken = expr.bindTo(LOOKUP, Broken.class);
+        assertThrowsExactly(IllegalStateException.class, () -> broken.format(Locale.ENGLISH, new Broken("x")));
+        var sneaky = expr.bindTo(LOOKUP, Sneaky.class);
+        assertThrowsExactly(UndeclaredThrowableException.class, () -> sneaky.format(Locale.ENGLISH, new Sneaky("x")));
+    }
+}
@@ -0,0 +1,67 @@
+// Copyright 2026 https://github.com/autores-uk/format/blob/main/LICENSE.txt
+// SPDX-License-Identifier: Apache-2.0
+package uk.autores.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeTest {
+
+    @Test
+    void share() {
+        var en = FormatExpression.parse("{0,number,integer} items on {1,date,short}");
+        var fr = FormatExpression.parse("{0,number,integer} articles le {1,date,short}.");
+        assertEquals(en.shape(), fr.shape());
+        assertEquals(en.shape().hashCode(), fr.shape().hashCode());
+        assertSame(en.shape(), en.shape());
+
+        Map<Shape, Shape> shapes = new HashMap<>();
+        var sharedEn = shapes.computeIfAbsent(en.shape(), s -> s).share(en);
+        var sharedFr = shapes.computeIfAbsent(fr.shape(), s -> s).share(fr);
+        assertSame(en, sharedEn);
+        assertNotSame(fr, sharedFr);
+        assertEquals(fr, sharedFr);
+        assertEquals(fr.argCount(), sharedFr.argCount());
+        assertSame(en.get(0), sharedFr.get(0));
+        assertSame(en.get(2), sharedFr.get(2));
+        var date = LocalDate.of(2025, 1, 2);
+        assertEquals(fr.format(Locale.FRENCH, 3, date), sharedFr.format(Locale.FRENCH, 3, date));
+        assertEquals(List.of(en.get(0), en.get(2)), en.shape().variables());
+        assertEquals("[{0,number,integer}, {1,date,short}]", en.shape().toString());
+    }
+
+    @Test
+    void named() {
+        var en = FormatExpression.parseNamed("{a} then {b}");
+        var de = FormatExpression.parseNamed("{a} dann {b}");
+        var swapped = FormatExpression.parseNamed("{b} then {a}");
+        assertEquals(en.shape(), de.shape());
+        assertNotEquals(en.shape(), swapped.shape());
+        var shared = en.shape().share(de);
+        assertEquals(de.names(), shared.names());
+    }
+
+    @Test
+    void differences() {
+        var shape = FormatExpression.parse("a {0} b {1}").shape();
+        assertEquals(shape, shape);
+        assertNotEquals(shape, null);
+        assertNotEquals(shape, "x");
+        assertNotEquals(shape, FormatExpression.parse("{0}").shape());
+        assertNotEquals(shape, FormatExpression.parse("{1} {0}").shape());
+        assertNotEquals(shape, FormatExpression.parse("{0} {1,number}").shape());
+        var memo = FormatExpression.parse("{0,date} {1}");
+        assertNotEquals(memo.shape(), memo.memoize(ChronoUnit.SECONDS).shape());
+        assertEquals(FormatExpression.parse("x").shape(), FormatExpression.parse("y").shape());
+        assertThrowsExactly(IllegalArgumentException.class, () -> shape.share(FormatExpression.parse("{1}")));
+        assertThrows(NullPointerException.class, () -> shape.share(null));
+    }
+}
@@ -57,7 +57,7 @@ public final class TestStrings {
 
         List<String> expressions = new ArrayList<>(Arrays.asList(exprs));
         for (FmtType type : FmtType.values()) {
-            if (type == FmtType.NONE || type == FmtType.CHOICE) {
+            if (type == FmtType.NONE || type == FmtType.CHOICE || type == FmtType.CUSTOM) {
                 continue;
             }
             expressions.addAll(construct(type));